@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.benchmark;
+
+import io.ballerina.web3.generator.utils.AbiCodec;
+import io.ballerina.web3.generator.utils.AbiType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * ABI encoding, decoding and hex conversion throughput.
+ */
+@State(Scope.Thread)
+public class AbiCodecBenchmark {
+
+    private static final String RECIPIENT = "0x5B38Da6a701c568545dCfcB03FcB875f56beddC4";
+
+    private final AbiCodec codec = new AbiCodec();
+
+    private AbiType transferType;
+    private List<Object> transferValues;
+    private AbiType dynamicType;
+    private List<Object> dynamicValues;
+    private byte[] encodedDynamic;
+    private String encodedDynamicHex;
+
+    @Setup
+    public void setup() {
+        transferType = AbiType.parse("(address,uint256)");
+        transferValues = List.of(RECIPIENT, BigInteger.TWO.pow(255).add(BigInteger.TEN));
+
+        dynamicType = AbiType.parse("(string,bytes,uint256[],(uint8,address)[2])");
+        dynamicValues = List.of("Hello, world! This string is longer than one word.",
+                new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10},
+                List.of(BigInteger.ONE, BigInteger.TWO, BigInteger.TEN, BigInteger.valueOf(1_000_000)),
+                List.of(List.of(1, RECIPIENT), List.of(2, RECIPIENT)));
+
+        ByteBuffer encoded = codec.encode(dynamicType, dynamicValues);
+        encodedDynamic = new byte[encoded.limit()];
+        encoded.get(encodedDynamic);
+        encodedDynamicHex = AbiCodec.toHex(encodedDynamic);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeStatic() {
+        return codec.encode(transferType, transferValues);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeDynamic() {
+        return codec.encode(dynamicType, dynamicValues);
+    }
+
+    @Benchmark
+    public String encodeCall() {
+        return codec.encodeCall("transfer(address,uint256)", transferValues);
+    }
+
+    @Benchmark
+    public Object decodeDynamic() {
+        return AbiCodec.decode(dynamicType, encodedDynamic);
+    }
+
+    @Benchmark
+    public String toHex() {
+        return AbiCodec.toHex(encodedDynamic);
+    }
+
+    @Benchmark
+    public byte[] fromHex() {
+        return AbiCodec.fromHex(encodedDynamicHex);
+    }
+}
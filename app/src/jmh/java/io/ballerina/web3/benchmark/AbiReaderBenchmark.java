@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.web3.benchmark;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.abi.AbiReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Reading and binding the ABI out of a full contract artifact.
+ */
+@State(Scope.Benchmark)
+public class AbiReaderBenchmark {
+
+    @Param({ "SimpleStorage", "Token", "synthetic-100", "synthetic-400" })
+    public String fixture;
+
+    private AbiReader abiReader;
+
+    @Setup
+    public void setup() throws Exception {
+        abiReader = new AbiReader(BenchmarkFixtures.resolve(fixture).toString());
+    }
+
+    @Benchmark
+    public List<AbiEntry> read() throws Exception {
+        return abiReader.read();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Resolves the ABI artifacts the benchmarks run against.
+ * `SimpleStorage` and `Token` are the artifacts at the repository root; `synthetic-N` is a generated
+ * Truffle-style artifact with N functions, N / 4 events and a bulky bytecode and AST to skip.
+ */
+final class BenchmarkFixtures {
+
+    static final String FIXTURES_PROPERTY = "web3.benchmark.fixtures";
+
+    private static final String[] INPUT_TYPES = { "address", "uint256", "bool", "string", "bytes32", "uint8[]" };
+    private static final String[] OUTPUT_TYPES = { "uint256", "bool", "address", "string", "bytes32" };
+    private static final String[] MUTABILITIES = { "view", "nonpayable", "pure", "payable" };
+
+    private BenchmarkFixtures() {
+    }
+
+    static Path resolve(String fixture) throws IOException {
+        if (fixture.startsWith("synthetic-")) {
+            return writeSyntheticArtifact(Integer.parseInt(fixture.substring("synthetic-".length())));
+        }
+
+        Path fixturesDir = Path.of(System.getProperty(FIXTURES_PROPERTY, "."));
+        return fixturesDir.resolve(fixture + ".json");
+    }
+
+    private static Path writeSyntheticArtifact(int functionCount) throws IOException {
+        StringBuilder json = new StringBuilder(functionCount * 1024);
+        json.append("{\n  \"contractName\": \"Synthetic\",\n  \"abi\": [\n");
+
+        for (int i = 0; i < functionCount; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append("    {\"type\": \"function\", \"name\": \"function").append(i)
+                    .append("\", \"stateMutability\": \"").append(MUTABILITIES[i % MUTABILITIES.length])
+                    .append("\", \"inputs\": [");
+            for (int j = 0; j < i % 4; j++) {
+                if (j > 0) {
+                    json.append(", ");
+                }
+                String type = INPUT_TYPES[(i + j) % INPUT_TYPES.length];
+                json.append("{\"name\": \"arg").append(j).append("\", \"type\": \"").append(type)
+                        .append("\", \"internalType\": \"").append(type).append("\"}");
+            }
+            json.append("], \"outputs\": [");
+            for (int j = 0; j < i % 3; j++) {
+                if (j > 0) {
+                    json.append(", ");
+                }
+                String type = OUTPUT_TYPES[(i + j) % OUTPUT_TYPES.length];
+                json.append("{\"name\": \"\", \"type\": \"").append(type)
+                        .append("\", \"internalType\": \"").append(type).append("\"}");
+            }
+            json.append("]}");
+        }
+
+        for (int i = 0; i < functionCount / 4; i++) {
+            json.append(",\n    {\"type\": \"event\", \"name\": \"Event").append(i)
+                    .append("\", \"anonymous\": false, \"inputs\": [")
+                    .append("{\"indexed\": true, \"name\": \"from\", \"type\": \"address\"}, ")
+                    .append("{\"indexed\": false, \"name\": \"value\", \"type\": \"uint256\"}]}");
+        }
+        json.append("\n  ],\n");
+
+        // Fields the reader has to skip, sized like a real artifact
+        json.append("  \"bytecode\": \"0x").append("6080604052".repeat(functionCount * 40)).append("\",\n");
+        json.append("  \"ast\": {\"nodes\": [");
+        for (int i = 0; i < functionCount * 10; i++) {
+            if (i > 0) {
+                json.append(", ");
+            }
+            json.append("{\"id\": ").append(i).append(", \"nodeType\": \"Identifier\", \"src\": \"0:0:0\"}");
+        }
+        json.append("]}\n}\n");
+
+        Path artifact = Files.createTempFile("web3-benchmark-synthetic-" + functionCount + "-", ".json");
+        artifact.toFile().deleteOnExit();
+        Files.writeString(artifact, json, StandardCharsets.UTF_8);
+        return artifact;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.web3.benchmark;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.abi.AbiReader;
+import io.ballerina.web3.generator.ClientGenerator;
+import io.ballerina.web3.generator.DynamicFunctionGenerator;
+import io.ballerina.web3.generator.FragmentCache;
+import io.ballerina.web3.generator.GenerationOptions;
+import io.ballerina.web3.generator.Generator;
+import io.ballerina.web3.generator.utils.Reporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The code generation pipeline, from contract functions to the files on disk.
+ */
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    // Drops the per-file messages, so console output is not part of the measurement
+    private static final PrintStream NULL_STREAM = new PrintStream(OutputStream.nullOutputStream());
+    private static final Reporter QUIET = new Reporter(NULL_STREAM, NULL_STREAM);
+
+    @Param({ "SimpleStorage", "Token", "synthetic-100", "synthetic-400" })
+    public String fixture;
+
+    private List<AbiEntry> abiEntries;
+    private List<AbiEntry> functions;
+    private FragmentCache warmFragmentCache;
+    private GenerationOptions uncachedOptions;
+    private Path outputDir;
+
+    @Setup
+    public void setup() throws Exception {
+        abiEntries = new AbiReader(BenchmarkFixtures.resolve(fixture).toString()).read();
+        functions = abiEntries.stream()
+                .filter(entry -> "function".equals(entry.getType()))
+                .collect(Collectors.toList());
+
+        // Every contract function is served from the cache, leaving only assembly of the module
+        warmFragmentCache = newFragmentCache();
+        ClientGenerator.generate(abiEntries, warmFragmentCache);
+
+        uncachedOptions = new GenerationOptions();
+        uncachedOptions.setCacheEnabled(false);
+        outputDir = Files.createTempDirectory("web3-benchmark-");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> dynamicFunctionGenerator() throws Exception {
+        return DynamicFunctionGenerator.generate(functions, newFragmentCache());
+    }
+
+    // Every function is generated and formatted
+    @Benchmark
+    public String clientGeneratorColdCache() throws Exception {
+        return ClientGenerator.generate(abiEntries, newFragmentCache());
+    }
+
+    // Every function is served from the fragment cache, leaving only assembly of the module
+    @Benchmark
+    public String clientGeneratorWarmCache() throws Exception {
+        return ClientGenerator.generate(abiEntries, warmFragmentCache);
+    }
+
+    @Benchmark
+    public boolean generator() throws Exception {
+        return Generator.generate(abiEntries, outputDir.toString(), uncachedOptions, QUIET);
+    }
+
+    private static FragmentCache newFragmentCache() {
+        return new FragmentCache(new GenerationOptions().describe());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.web3.benchmark;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.abi.AbiReader;
+import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Keccak-256 hashing and function selector computation.
+ */
+@State(Scope.Benchmark)
+public class SelectorBenchmark {
+
+    private AbiEntry transferFrom;
+
+    @Setup
+    public void setup() throws Exception {
+        transferFrom = new AbiReader(BenchmarkFixtures.resolve("Token").toString()).read().stream()
+                .filter(entry -> "transferFrom".equals(entry.getName()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public String hashKeccak256() {
+        return CodeGeneratorUtils.hashKeccak256("transferFrom(address,address,uint256)");
+    }
+
+    @Benchmark
+    public String generateFunctionSelector() {
+        return CodeGeneratorUtils.generateFunctionSelector(transferFrom);
+    }
+}
@@ -18,8 +18,11 @@
 
 package io.ballerina.web3.abi;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.StringJoiner;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AbiInput {
@@ -32,6 +35,9 @@ public class AbiInput {
     @JsonProperty("internalType")
     private String internalType;
 
+    @JsonProperty("components")
+    private List<AbiInput> components;
+
     public String getName() {
         return name;
     }
@@ -43,4 +49,26 @@ public class AbiInput {
     public String getInternalType() {
         return internalType;
     }
+
+    public List<AbiInput> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the type as it appears in function signatures, with tuples expanded to their
+     * component types, e.g. (address,uint256)[] for a tuple[] of an address and a uint256.
+     */
+    @JsonIgnore
+    public String getCanonicalType() {
+        if (!type.startsWith("tuple")) {
+            return type;
+        }
+        StringJoiner tuple = new StringJoiner(",", "(", ")");
+        if (components != null) {
+            for (AbiInput component : components) {
+                tuple.add(component.getCanonicalType());
+            }
+        }
+        return tuple + type.substring("tuple".length());
+    }
 }
@@ -18,39 +18,241 @@
 
 package io.ballerina.web3.abi;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.ballerina.web3.generator.utils.PhaseProfiler;
+import io.ballerina.web3.generator.utils.PhaseProfiler.Phase;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class AbiReader {
 
+    /**
+     * Receives each contract ABI as soon as it has been read from a bundle.
+     */
+    @FunctionalInterface
+    public interface ContractConsumer {
+        void accept(ContractAbi contract) throws Exception;
+    }
+
+    // Shared, thread-safe mapper and reader; building these is far more expensive than using them
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader ABI_READER = MAPPER.readerFor(AbiEntry[].class);
+
     private final String abiPath;
 
     public AbiReader(String abiPath) {
         this.abiPath = abiPath;
     }
 
+    /**
+     * Reads the ABI from a Truffle/Hardhat artifact or a plain ABI array.
+     * The artifact is streamed and only the `abi` field is bound; `ast`, `bytecode`,
+     * source maps and every other field are skipped without being materialized.
+     */
+    @SuppressWarnings("try")
     public List<AbiEntry> read() throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
         File file = new File(abiPath);
 
         if (!file.exists()) {
             throw new Exception("ABI file not found: " + abiPath);
         }
 
-        ContractJson contractJson = objectMapper.readValue(file, ContractJson.class);
+        AbiEntry[] abiEntries;
+        try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.ARTIFACT_READ);
+                JsonParser parser = MAPPER.getFactory().createParser(file)) {
+            abiEntries = readAbi(parser);
+        }
 
-        if (contractJson == null || contractJson.getAbi() == null) {
+        if (abiEntries == null) {
             throw new Exception("Invalid ABI JSON: missing 'abi' field in " + abiPath);
         }
 
-        AbiEntry[] abiEntries = contractJson.getAbi();
-
         if (abiEntries.length == 0) {
             throw new Exception("Empty ABI in: " + abiPath);
         }
 
         return Arrays.asList(abiEntries);
     }
+
+    /**
+     * Reads every contract ABI in a multi-contract bundle and hands each one to the consumer.
+     * A Hardhat `build-info/*.json` file is streamed once from start to end, so only one contract's
+     * ABI is held in memory at a time. A Foundry `out/` (or Hardhat `artifacts/`) directory is walked
+     * and each per-contract artifact is streamed in turn. Contracts with an empty ABI are skipped.
+     */
+    public void readBundle(ContractConsumer consumer) throws Exception {
+        Path path = Path.of(abiPath);
+
+        if (Files.isDirectory(path)) {
+            readArtifactDirectory(path, consumer);
+            return;
+        }
+
+        if (!Files.exists(path)) {
+            throw new Exception("ABI bundle not found: " + abiPath);
+        }
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(path.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new Exception("Invalid build-info JSON: expected an object in " + abiPath);
+            }
+
+            boolean foundOutput = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+
+                if ("output".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                    foundOutput = true;
+                    readBuildInfoOutput(parser, consumer);
+                } else {
+                    // `input` carries the full Solidity sources and is usually the largest part
+                    parser.skipChildren();
+                }
+            }
+
+            if (!foundOutput) {
+                throw new Exception("Invalid build-info JSON: missing 'output' field in " + abiPath);
+            }
+        }
+    }
+
+    private static void readBuildInfoOutput(JsonParser parser, ContractConsumer consumer) throws Exception {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if (!"contracts".equals(fieldName) || valueToken != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            // contracts: { "<source path>": { "<contract name>": { "abi": [...], "evm": {...}, ... } } }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String sourcePath = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String contractName = parser.currentName();
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    AbiEntry[] abiEntries = readContractAbi(parser);
+                    if (abiEntries != null && abiEntries.length > 0) {
+                        consumer.accept(new ContractAbi(contractName, sourcePath, Arrays.asList(abiEntries)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the `abi` field of a contract object whose START_OBJECT token has been consumed,
+     * skipping the rest of the object and leaving the parser on its END_OBJECT token.
+     */
+    private static AbiEntry[] readContractAbi(JsonParser parser) throws Exception {
+        AbiEntry[] abiEntries = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if ("abi".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                abiEntries = bindAbi(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return abiEntries;
+    }
+
+    /**
+     * Returns true if the file is a per-contract artifact inside a Foundry out/ or Hardhat artifacts/
+     * directory, as opposed to a debug file or a build-info bundle.
+     */
+    public static boolean isContractArtifact(Path directory, Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith(".json") && !fileName.endsWith(".dbg.json")
+                && !directory.relativize(file).toString().contains("build-info");
+    }
+
+    @SuppressWarnings("try")
+    private static void readArtifactDirectory(Path directory, ContractConsumer consumer) throws Exception {
+        List<Path> artifacts = new ArrayList<>();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(p -> isContractArtifact(directory, p))
+                    .sorted()
+                    .forEach(artifacts::add);
+        }
+
+        for (Path artifact : artifacts) {
+            AbiEntry[] abiEntries;
+            try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.ARTIFACT_READ);
+                    JsonParser parser = MAPPER.getFactory().createParser(artifact.toFile())) {
+                abiEntries = readAbi(parser);
+            }
+
+            if (abiEntries == null || abiEntries.length == 0) {
+                continue;
+            }
+
+            // out/<Source>.sol/<Contract>.json
+            String fileName = artifact.getFileName().toString();
+            String contractName = fileName.substring(0, fileName.length() - ".json".length());
+            Path parent = directory.relativize(artifact).getParent();
+            String sourcePath = parent != null ? parent.toString() : "";
+
+            consumer.accept(new ContractAbi(contractName, sourcePath, Arrays.asList(abiEntries)));
+        }
+    }
+
+    @SuppressWarnings("try")
+    private static AbiEntry[] bindAbi(JsonParser parser) throws Exception {
+        try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.ABI_BIND)) {
+            return ABI_READER.readValue(parser);
+        }
+    }
+
+    private static AbiEntry[] readAbi(JsonParser parser) throws Exception {
+        JsonToken token = parser.nextToken();
+
+        // A bare ABI array, as emitted by `solc --abi`
+        if (token == JsonToken.START_ARRAY) {
+            return bindAbi(parser);
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if ("abi".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                // Nothing after the ABI is needed, so stop reading here
+                return bindAbi(parser);
+            }
+
+            parser.skipChildren();
+        }
+
+        return null;
+    }
 }
@@ -18,17 +18,31 @@
 
 package io.ballerina.web3.abi;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
 
+/**
+ * The ABI of a single contract together with where it was found.
+ */
+public class ContractAbi {
+    private final String name;
+    private final String sourcePath;
+    private final List<AbiEntry> entries;
 
-@JsonIgnoreProperties(ignoreUnknown = true) // Ignore all other properties
-public class ContractJson {
-    @JsonProperty("abi")
-    private AbiEntry[] abi;
+    public ContractAbi(String name, String sourcePath, List<AbiEntry> entries) {
+        this.name = name;
+        this.sourcePath = sourcePath;
+        this.entries = entries;
+    }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getSourcePath() {
+        return sourcePath;
+    }
 
-    public AbiEntry[] getAbi() {
-        return abi;
+    public List<AbiEntry> getEntries() {
+        return entries;
     }
-}
\ No newline at end of file
+}
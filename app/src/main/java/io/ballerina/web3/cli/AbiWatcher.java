@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.web3.cli;
+
+import io.ballerina.web3.generator.utils.Reporter;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Watches ABI files for changes and hands each debounced burst of changes to a handler.
+ * Compilers rewrite many artifacts, several times each, in quick succession, so events are collected
+ * until the file system has been quiet for the debounce interval.
+ */
+public class AbiWatcher implements AutoCloseable {
+
+    private static final long DEBOUNCE_MILLIS = 300;
+
+    /**
+     * Handles a burst of changes. `changedFiles` is null when events were lost and everything
+     * must be treated as changed.
+     */
+    @FunctionalInterface
+    public interface ChangeHandler {
+        void onChange(Set<Path> changedFiles) throws Exception;
+    }
+
+    private final WatchService watchService;
+    private final Predicate<Path> filter;
+    private final Reporter reporter;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Map<WatchKey, Boolean> recursiveKeys = new HashMap<>();
+
+    /**
+     * @param filter   Selects the files whose changes trigger regeneration, given absolute paths.
+     * @param reporter Receives the errors of regenerations and of watching new directories.
+     */
+    public AbiWatcher(Predicate<Path> filter, Reporter reporter) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.filter = filter;
+        this.reporter = reporter;
+    }
+
+    public void register(Path directory, boolean recursive) throws IOException {
+        if (!recursive) {
+            registerDirectory(directory, false);
+            return;
+        }
+
+        try (Stream<Path> directories = Files.walk(directory)) {
+            for (Path subDirectory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                registerDirectory(subDirectory, true);
+            }
+        }
+    }
+
+    private void registerDirectory(Path directory, boolean recursive) throws IOException {
+        WatchKey key = directory.toAbsolutePath().normalize().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirectories.put(key, directory.toAbsolutePath().normalize());
+        recursiveKeys.put(key, recursive);
+    }
+
+    /**
+     * Blocks, calling the handler after every burst of relevant changes, until interrupted.
+     */
+    public void watch(ChangeHandler handler) throws InterruptedException {
+        while (!Thread.currentThread().isInterrupted()) {
+            Set<Path> changedFiles = new LinkedHashSet<>();
+            boolean overflow = collect(watchService.take(), changedFiles);
+
+            // Keep collecting until no event arrives within the debounce interval
+            WatchKey key;
+            while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                overflow |= collect(key, changedFiles);
+            }
+
+            if (!overflow && changedFiles.isEmpty()) {
+                continue;
+            }
+
+            try {
+                handler.onChange(overflow ? null : changedFiles);
+            } catch (Exception e) {
+                reporter.error("Error regenerating Ballerina connector: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> changedFiles) {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+
+            Path changed = directory.resolve((Path) event.context());
+            if (Files.isDirectory(changed)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && Boolean.TRUE.equals(recursiveKeys.get(key))) {
+                    try {
+                        register(changed, true);
+
+                        // Files may have been written before the new directory was registered
+                        try (Stream<Path> files = Files.walk(changed)) {
+                            files.filter(Files::isRegularFile).filter(filter).forEach(changedFiles::add);
+                        }
+                    } catch (IOException e) {
+                        reporter.error("Error watching directory: " + e.getMessage());
+                    }
+                }
+                continue;
+            }
+
+            if (filter.test(changed)) {
+                changedFiles.add(changed);
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+            recursiveKeys.remove(key);
+        }
+        return overflow;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
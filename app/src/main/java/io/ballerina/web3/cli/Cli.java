@@ -20,28 +20,123 @@ package io.ballerina.web3.cli;
 import io.ballerina.cli.BLauncherCmd;
 import io.ballerina.web3.abi.AbiEntry;
 import io.ballerina.web3.abi.AbiReader;
+import io.ballerina.web3.generator.BatchGenerator;
+import io.ballerina.web3.generator.GenerationOptions;
 import io.ballerina.web3.generator.Generator;
+import io.ballerina.web3.generator.utils.PhaseProfiler;
+import io.ballerina.web3.generator.utils.Reporter;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Command(name = "web3", description = "Generates Ballerina connectors from Ethereum Smart Contract ABI.")
 public class Cli implements BLauncherCmd {
 
     private static final String CMD_NAME = "web3";
+    private static final String PROFILE_REPORT = "web3-profile.json";
 
-    @Option(names = { "-a", "--abi" }, required = true, description = "Path to the ABI JSON file")
+    @Option(names = { "-a", "--abi" },
+            description = "Path to the ABI JSON file, a directory of artifacts or a glob such as 'build/*.json'")
     private String abiPath;
 
     @Option(names = { "-o", "--output" }, description = "Output directory")
     private String outputDir = "./generated/";
 
+    @Option(names = { "-b", "--bundle" },
+            description = "Treat the ABI path as a Hardhat build-info file or a Foundry out/ directory")
+    private boolean bundle;
+
+    @Option(names = { "-t", "--threads" }, description = "Number of connectors to generate in parallel")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = { "-f", "--force" },
+            description = "Regenerate even if the output is up to date with the ABI and options")
+    private boolean force;
+
+    @Option(names = { "-w", "--watch" },
+            description = "Keep running and regenerate connectors whenever the ABI files change")
+    private boolean watch;
+
+    @Option(names = { "--layout" }, paramLabel = "<single|split>",
+            description = "Generate everything into main.bal, or split events, client and functions into files")
+    private String layout = "single";
+
+    @Option(names = { "--shard-size" }, paramLabel = "<functions>",
+            description = "With the split layout, the most contract functions per source file (0 for no limit)")
+    private int shardSize;
+
+    @Option(names = { "--include" }, split = ",", paramLabel = "<name|selector>",
+            description = "Generate only these contract functions, by name or 4-byte selector")
+    private Set<String> includedFunctions = new HashSet<>();
+
+    @Option(names = { "--exclude" }, split = ",", paramLabel = "<name|selector>",
+            description = "Leave out these contract functions, by name or 4-byte selector")
+    private Set<String> excludedFunctions = new HashSet<>();
+
+    @Option(names = { "--events" }, negatable = true, defaultValue = "true", fallbackValue = "true",
+            description = "Generate the event topic hash constants (use --no-events to leave them out)")
+    private boolean events = true;
+
+    @Option(names = { "--no-rpc-helpers" },
+            description = "Leave out the chain helpers such as newBatch, multicall and getBalance")
+    private boolean noRpcHelpers;
+
+    @Option(names = { "--native" },
+            description = "Implement the ABI and hex helpers in a bundled Java library instead of in Ballerina")
+    private boolean nativeHelpers;
+
+    @Option(names = { "--profile" },
+            description = "Record the time and allocations of each generation phase in " + PROFILE_REPORT)
+    private boolean profile;
+
+    @Option(names = { "--daemon" }, paramLabel = "<socket>",
+            description = "Run as a resident generator daemon listening on the given Unix domain socket")
+    private String daemonSocket;
+
+    @Option(names = { "--client" }, paramLabel = "<socket>",
+            description = "Send the generation to the daemon listening on the given Unix domain socket")
+    private String clientSocket;
+
     @Option(names = { "-h", "--help" }, usageHelp = true, description = "Display help information")
     private boolean helpFlag;
 
+    @Spec
+    private CommandSpec spec;
+
+    // Set once the first generation is done and the tool is watching for changes
+    private boolean watching;
+
+    // Streams for user-facing messages; the daemon routes them back to the requesting client
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Reporter reporter;
+    private boolean failed;
+
+    public Cli() {
+        this(System.out, System.err);
+    }
+
+    Cli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.reporter = new Reporter(out, err);
+    }
+
     @Override
     public void execute() {
         if (helpFlag) {
@@ -49,35 +144,405 @@ public class Cli implements BLauncherCmd {
             return;
         }
 
+        if (daemonSocket != null) {
+            runDaemon();
+            return;
+        }
+
+        if (clientSocket != null) {
+            runClient();
+            return;
+        }
+
         if (abiPath == null || abiPath.isBlank()) {
-            System.err.println("Error: ABI file path is required. Use -a <path/to/abi.json>");
+            printError("Error: ABI file path is required. Use -a <path/to/abi.json>");
+            return;
+        }
+
+        if (threads < 1) {
+            printError("Error: --threads must be at least 1");
             return;
         }
 
-        if (!isFileValid(abiPath)) {
-            System.err.println("Error: ABI file does not exist or is not a valid file: " + abiPath);
+        if (parseLayout() == null) {
+            printError("Error: --layout must be 'single' or 'split': " + layout);
             return;
         }
 
-        if (!abiPath.endsWith(".json")) {
-            System.err.println("Error: ABI file must be a JSON file: " + abiPath);
+        if (shardSize < 0) {
+            printError("Error: --shard-size must not be negative");
             return;
         }
 
+        // Directories and glob patterns select many artifacts, one connector per contract
+        boolean batchInput = isGlob(abiPath) || Files.isDirectory(Path.of(abiPath));
+
+        if (!batchInput && !isFileValid(abiPath)) {
+            printError("Error: ABI file does not exist or is not a valid file: " + abiPath);
+            return;
+        }
+
+        if (!batchInput && !abiPath.endsWith(".json")) {
+            printError("Error: ABI file must be a JSON file: " + abiPath);
+            return;
+        }
+
+        if (profile) {
+            PhaseProfiler.enable();
+        }
+
         try {
-            generateBallerinaConnector();
-            System.out.println("Ballerina connector generated successfully.");
-            System.out.println("  ABI File: " + abiPath);
-            System.out.println("  Output Directory: " + outputDir);
+            runGeneration(batchInput, null);
         } catch (Exception e) {
-            System.err.println("Error generating Ballerina connector: " + e.getMessage());
+            printError("Error generating Ballerina connector: " + e.getMessage());
+            if (!watch) {
+                return;
+            }
+        }
+
+        if (watch) {
+            watchAbiSources(batchInput);
+        }
+    }
+
+    /**
+     * Generates the connectors once, writing a phase profile of the run if --profile is set.
+     */
+    private void runGeneration(boolean batchInput, Set<Path> changedArtifacts) throws Exception {
+        long start = System.nanoTime();
+        PhaseProfiler.reset();
+
+        try {
+            if (batchInput || bundle) {
+                generateBatchConnectors(changedArtifacts);
+            } else {
+                generateSingleConnector();
+            }
+        } finally {
+            if (profile) {
+                writeProfile(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void writeProfile(long elapsedNanos) {
+        Path reportPath = Path.of(outputDir, PROFILE_REPORT);
+        try {
+            PhaseProfiler.writeReport(reportPath, elapsedNanos);
+            out.println("Generation profile written to " + reportPath);
+        } catch (IOException e) {
+            // Still show the profile when the output directory cannot be written
+            err.print(PhaseProfiler.toJson(elapsedNanos));
+        }
+    }
+
+    private void runDaemon() {
+        try {
+            new GeneratorDaemon(Path.of(daemonSocket), threads, reporter).serve();
+        } catch (IOException e) {
+            printError("Error running generator daemon: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the other arguments to a running daemon, which generates with its warmed-up parser and
+     * formatter, and reports what the run printed.
+     */
+    private void runClient() {
+        List<String> args = new ArrayList<>();
+        List<String> originalArgs = spec.commandLine().getParseResult().originalArgs();
+        for (int i = 0; i < originalArgs.size(); i++) {
+            String arg = originalArgs.get(i);
+            if (arg.equals("--client")) {
+                i++;
+            } else if (!arg.startsWith("--client=")) {
+                args.add(arg);
+            }
+        }
+
+        try {
+            if (GeneratorDaemon.request(Path.of(clientSocket), Path.of("").toAbsolutePath(), args, reporter) != 0) {
+                failed = true;
+            }
+        } catch (IOException e) {
+            printError("Error sending the request to the generator daemon: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if the last run reported an error.
+     */
+    boolean hasFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns true if the parsed options ask for a long-running mode rather than a single generation.
+     */
+    boolean isLongRunning() {
+        return watch || daemonSocket != null;
+    }
+
+    /**
+     * Returns true if the parsed options ask to send the generation to a daemon.
+     */
+    boolean isClient() {
+        return clientSocket != null;
+    }
+
+    /**
+     * Returns true if the parsed options ask for a phase profile, which is collected process-wide.
+     */
+    boolean isProfiling() {
+        return profile;
+    }
+
+    private void printError(String message) {
+        failed = true;
+        err.println(message);
+    }
+
+    private void generateSingleConnector() throws Exception {
+        if (generateBallerinaConnector()) {
+            out.println("Ballerina connector generated successfully.");
+        } else {
+            out.println("Ballerina connector is up to date.");
         }
+        out.println("  ABI File: " + abiPath);
+        out.println("  Output Directory: " + outputDir);
     }
 
-    private void generateBallerinaConnector() throws Exception {
+    private boolean generateBallerinaConnector() throws Exception {
         AbiReader abiReader = new AbiReader(abiPath);
         List<AbiEntry> abiEntries = abiReader.read();
-        Generator.generate(abiEntries, outputDir);
+        return Generator.generate(abiEntries, outputDir, createOptions(), reporter);
+    }
+
+    private GenerationOptions createOptions() {
+        GenerationOptions options = new GenerationOptions();
+        // --force applies to the first run only; regenerations in watch mode always use the cache
+        options.setCacheEnabled(!force || watching);
+        options.setLayout(parseLayout());
+        options.setShardSize(shardSize);
+        options.setIncludedFunctions(includedFunctions);
+        options.setExcludedFunctions(excludedFunctions);
+        options.setEventsEnabled(events);
+        options.setRpcHelpersEnabled(!noRpcHelpers);
+        options.setNativeEnabled(nativeHelpers);
+        return options;
+    }
+
+    private GenerationOptions.Layout parseLayout() {
+        for (GenerationOptions.Layout value : GenerationOptions.Layout.values()) {
+            if (value.name().equalsIgnoreCase(layout)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the process, and with it the warmed-up parser, formatter and Keccak classes, alive and
+     * regenerates the affected connectors whenever the ABI files change.
+     */
+    private void watchAbiSources(boolean batchInput) {
+        watching = true;
+
+        try (AbiWatcher watcher = createWatcher()) {
+            out.println("Watching " + abiPath + " for changes. Press Ctrl+C to stop.");
+            watcher.watch(changedFiles -> runGeneration(batchInput, changedFiles));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            printError("Error watching ABI files: " + e.getMessage());
+        }
+    }
+
+    private AbiWatcher createWatcher() throws IOException {
+        if (isGlob(abiPath)) {
+            Path baseDir = globBaseDir(abiPath).toAbsolutePath().normalize();
+            PathMatcher matcher = globMatcher(abiPath);
+            AbiWatcher watcher = new AbiWatcher(
+                    p -> p.startsWith(baseDir) && matcher.matches(baseDir.relativize(p)), reporter);
+            watcher.register(baseDir, true);
+            return watcher;
+        }
+
+        Path path = Path.of(abiPath).toAbsolutePath().normalize();
+        if (Files.isDirectory(path)) {
+            AbiWatcher watcher = new AbiWatcher(p -> AbiReader.isContractArtifact(path, p), reporter);
+            watcher.register(path, true);
+            return watcher;
+        }
+
+        AbiWatcher watcher = new AbiWatcher(path::equals, reporter);
+        watcher.register(path.getParent(), false);
+        return watcher;
+    }
+
+    /**
+     * Generates one connector per contract, each in its own output subdirectory, on a bounded pool.
+     * Bundles and artifact directories are streamed and each contract is queued as soon as it is read;
+     * for glob patterns each matched artifact is read on the worker thread.
+     *
+     * @param changedArtifacts Absolute paths of the artifacts to regenerate, or null for all of them.
+     *                         Contracts of a build-info bundle are always all considered, and
+     *                         unchanged ones are skipped by the generation cache.
+     */
+    private void generateBatchConnectors(Set<Path> changedArtifacts) throws Exception {
+        long start = System.nanoTime();
+        Set<String> usedNames = new HashSet<>();
+        List<BatchGenerator.Result> results;
+
+        try (BatchGenerator batchGenerator = new BatchGenerator(threads, createOptions(), reporter)) {
+            if (isGlob(abiPath)) {
+                for (Path artifact : resolveGlob(abiPath)) {
+                    String contractName = contractNameOf(artifact);
+                    Path parent = artifact.getParent();
+
+                    // Names are reserved for unchanged artifacts too, so directory names stay stable
+                    String directoryName = contractDirectoryName(contractName,
+                            parent != null ? parent.toString() : "", usedNames);
+                    if (isUnchanged(artifact, changedArtifacts)) {
+                        continue;
+                    }
+
+                    batchGenerator.submit(contractName, () -> new AbiReader(artifact.toString()).read(),
+                            Path.of(outputDir, directoryName).toString());
+                }
+            } else {
+                Path bundlePath = Path.of(abiPath);
+                new AbiReader(abiPath).readBundle(contract -> {
+                    String directoryName = contractDirectoryName(contract.getName(), contract.getSourcePath(),
+                            usedNames);
+                    if (Files.isDirectory(bundlePath) && isUnchanged(bundlePath.resolve(contract.getSourcePath())
+                            .resolve(contract.getName() + ".json"), changedArtifacts)) {
+                        return;
+                    }
+                    batchGenerator.submit(contract.getName(), contract::getEntries,
+                            Path.of(outputDir, directoryName).toString());
+                });
+            }
+
+            results = batchGenerator.awaitAll();
+        }
+
+        if (results.isEmpty()) {
+            if (changedArtifacts != null) {
+                return;
+            }
+            throw new Exception("No contracts with a non-empty ABI found in: " + abiPath);
+        }
+
+        printSummary(results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void printSummary(List<BatchGenerator.Result> results, long elapsedMillis) {
+        long succeeded = results.stream().filter(BatchGenerator.Result::isSuccess).count();
+        long skipped = results.stream().filter(BatchGenerator.Result::isSkipped).count();
+
+        out.println("Generated " + succeeded + " of " + results.size() + " Ballerina connectors ("
+                + skipped + " up to date) in " + elapsedMillis + " ms using " + threads + " thread(s).");
+        out.println("  ABI Source: " + abiPath);
+        out.println("  Output Directory: " + outputDir);
+
+        for (BatchGenerator.Result result : results) {
+            if (result.isSkipped()) {
+                out.println("  [SKIP]   " + result.getName() + " -> " + result.getOutputDir()
+                        + " (up to date)");
+            } else if (result.isSuccess()) {
+                out.println("  [OK]     " + result.getName() + " -> " + result.getOutputDir()
+                        + " (" + result.getDurationMillis() + " ms)");
+            } else {
+                printError("  [FAILED] " + result.getName() + ": " + result.getError().getMessage());
+            }
+        }
+    }
+
+    private static String contractDirectoryName(String name, String sourcePath, Set<String> usedNames) {
+        if (usedNames.add(name)) {
+            return name;
+        }
+
+        // The same contract name declared in more than one source file
+        Path sourceFileName = Path.of(sourcePath).getFileName();
+        String source = sourceFileName != null ? sourceFileName.toString().replaceAll("\\.(sol|json)$", "") : "";
+        String qualified = source + "_" + name;
+        for (int i = 2; !usedNames.add(qualified); i++) {
+            qualified = source + "_" + name + "_" + i;
+        }
+        return qualified;
+    }
+
+    private static boolean isUnchanged(Path artifact, Set<Path> changedArtifacts) {
+        return changedArtifacts != null && !changedArtifacts.contains(artifact.toAbsolutePath().normalize());
+    }
+
+    private static String contractNameOf(Path artifact) {
+        String fileName = artifact.getFileName().toString();
+        return fileName.substring(0, fileName.length() - ".json".length());
+    }
+
+    private static boolean isGlob(String path) {
+        if (!path.contains("*") && !path.contains("?") && !path.contains("[") && !path.contains("{")) {
+            return false;
+        }
+        // An existing path such as contracts/[v2]/Token.json is taken literally
+        try {
+            return !Files.exists(Path.of(path));
+        } catch (InvalidPathException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the index of the separator that ends the fixed directory part of a glob pattern,
+     * or -1 if the pattern starts with a wildcard.
+     */
+    private static int globBaseEnd(String normalizedPattern) {
+        int firstWildcard = normalizedPattern.length();
+        for (char c : new char[] { '*', '?', '[', '{' }) {
+            int index = normalizedPattern.indexOf(c);
+            if (index >= 0 && index < firstWildcard) {
+                firstWildcard = index;
+            }
+        }
+        return normalizedPattern.lastIndexOf('/', firstWildcard);
+    }
+
+    private static Path globBaseDir(String pattern) {
+        String normalized = pattern.replace('\\', '/');
+        int baseEnd = globBaseEnd(normalized);
+        return Path.of(baseEnd >= 0 ? normalized.substring(0, baseEnd + 1) : ".");
+    }
+
+    /**
+     * Returns a matcher for paths relative to the glob's base directory.
+     */
+    private static PathMatcher globMatcher(String pattern) {
+        String normalized = pattern.replace('\\', '/');
+        return FileSystems.getDefault().getPathMatcher("glob:" + normalized.substring(globBaseEnd(normalized) + 1));
+    }
+
+    /**
+     * Resolves a glob such as `build/contracts/*.json` by walking the directory that precedes
+     * the first wildcard segment.
+     */
+    private static List<Path> resolveGlob(String pattern) throws IOException {
+        Path baseDir = globBaseDir(pattern);
+        PathMatcher matcher = globMatcher(pattern);
+
+        if (!Files.isDirectory(baseDir)) {
+            return List.of();
+        }
+
+        try (Stream<Path> paths = Files.walk(baseDir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .filter(p -> matcher.matches(baseDir.relativize(p)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
     }
 
     private boolean isFileValid(String filePath) {
@@ -98,7 +563,12 @@ public class Cli implements BLauncherCmd {
 
     @Override
     public void printUsage(StringBuilder out) {
-        out.append("bal web3 -a <path/to/abi.json> [-o <output-dir>]\n");
+        out.append("bal web3 -a <path/to/abi.json | directory | glob> [-o <output-dir>] [-b] [-t <threads>]")
+                .append(" [-f] [-w] [--layout <single|split>] [--shard-size <functions>] [--profile]\n")
+                .append("        [--include <name|selector>,...] [--exclude <name|selector>,...] [--no-events]")
+                .append(" [--no-rpc-helpers] [--native]\n")
+                .append("bal web3 --daemon <socket>\n")
+                .append("bal web3 --client <socket> -a <path/to/abi.json | directory | glob> [options]\n");
     }
 
     @Override
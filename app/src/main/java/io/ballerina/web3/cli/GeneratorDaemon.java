@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.web3.cli;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.ballerina.web3.generator.utils.Reporter;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the generator resident and serves generation requests over a Unix domain socket, so that
+ * build tools and IDE plugins pay for JVM start-up and parser/formatter warm-up only once.
+ *
+ * The protocol is one JSON line each way. A request carries the command-line arguments of a normal
+ * invocation and the client's working directory:
+ *
+ *     {"cwd": "/home/me/dapp", "args": ["-a", "build/contracts/Token.json", "-o", "generated"]}
+ *
+ * and the response carries the exit code and everything the run printed:
+ *
+ *     {"exitCode": 0, "output": "Ballerina connector generated successfully.\n..."}
+ *
+ * {@link #request} is the client side, used by `--client`.
+ */
+public class GeneratorDaemon {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Options whose values are paths and must be resolved against the client's working directory
+    private static final Set<String> PATH_OPTIONS = Set.of("-a", "--abi", "-o", "--output");
+
+    // Anyone who can connect can have files written as the daemon's user, so only the owner may
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    // The file type bits of unix:mode, and the type of a socket
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFSOCK = 0140000;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Request {
+        @JsonProperty("cwd")
+        String cwd;
+
+        @JsonProperty("args")
+        List<String> args;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Response {
+        @JsonProperty("exitCode")
+        int exitCode;
+
+        @JsonProperty("output")
+        String output;
+
+        @JsonCreator
+        Response(@JsonProperty("exitCode") int exitCode, @JsonProperty("output") String output) {
+            this.exitCode = exitCode;
+            this.output = output;
+        }
+    }
+
+    private final Path socketPath;
+    private final int threads;
+    private final Reporter reporter;
+
+    public GeneratorDaemon(Path socketPath, int threads, Reporter reporter) {
+        this.socketPath = socketPath;
+        this.threads = threads;
+        this.reporter = reporter;
+    }
+
+    /**
+     * Sends a generation request to a running daemon and reports the output of the run. This is a
+     * thin client: it loads no parser or formatter and generates nothing itself.
+     *
+     * @param socketPath The socket the daemon listens on.
+     * @param cwd        The working directory that relative paths in the arguments are resolved against.
+     * @param args       The command-line arguments of the generation.
+     * @param reporter   Receives the output of the run, as an error if the run failed.
+     * @return The exit code of the run.
+     */
+    public static int request(Path socketPath, Path cwd, List<String> args, Reporter reporter) throws IOException {
+        Request request = new Request();
+        request.cwd = cwd.toString();
+        request.args = args;
+
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath))) {
+            OutputStream output = Channels.newOutputStream(channel);
+            output.write(MAPPER.writeValueAsBytes(request));
+            output.write('\n');
+            output.flush();
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("the daemon closed the connection without a response");
+            }
+
+            Response response = MAPPER.readValue(line, Response.class);
+            String text = response.output != null ? response.output.stripTrailing() : "";
+            if (!text.isEmpty()) {
+                if (response.exitCode == 0) {
+                    reporter.info(text);
+                } else {
+                    reporter.error(text);
+                }
+            }
+            return response.exitCode;
+        }
+    }
+
+    /**
+     * Listens on the socket and serves requests until the process is stopped.
+     */
+    public void serve() throws IOException {
+        prepareSocketPath();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Files.deleteIfExists(socketPath);
+                } catch (IOException e) {
+                    // Nothing more can be done while the JVM is exiting
+                }
+            }));
+
+            reporter.info("Generator daemon listening on " + socketPath);
+            while (true) {
+                SocketChannel client = server.accept();
+                executor.submit(() -> handle(client));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Makes sure the socket can be bound without exposing it or taking anything over. The directory
+     * of the socket is created owner-only or must already be, and an existing file is only removed if
+     * it is a socket that no daemon listens on any more.
+     */
+    private void prepareSocketPath() throws IOException {
+        Path directory = socketPath.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            boolean posix = Files.getFileAttributeView(directory.getRoot(), PosixFileAttributeView.class) != null;
+            if (posix) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } else {
+                Files.createDirectories(directory);
+            }
+        } else {
+            PosixFileAttributeView view = Files.getFileAttributeView(directory, PosixFileAttributeView.class);
+            Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+            if (view != null) {
+                permissions.addAll(view.readAttributes().permissions());
+                permissions.removeAll(OWNER_ONLY);
+            }
+            if (!permissions.isEmpty()) {
+                throw new IOException("The socket directory " + directory
+                        + " must be accessible by its owner only (chmod 700)");
+            }
+        }
+
+        if (!Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        if (!isSocket(socketPath)) {
+            throw new IOException(socketPath + " exists and is not a socket");
+        }
+        if (isListening(socketPath)) {
+            throw new IOException("A generator daemon is already listening on " + socketPath);
+        }
+        // Left behind by a daemon that was killed, and would make bind() fail
+        Files.delete(socketPath);
+    }
+
+    private static boolean isSocket(Path path) throws IOException {
+        try {
+            int mode = (Integer) Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            return (mode & S_IFMT) == S_IFSOCK;
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // Without the unix view, a socket is neither a regular file, a directory nor a link
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther();
+        }
+    }
+
+    private static boolean isListening(Path path) {
+        try (SocketChannel probe = SocketChannel.open(UnixDomainSocketAddress.of(path))) {
+            return probe.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (line == null) {
+                // Closed without a request, such as the probe of a daemon starting on the same path
+                return;
+            }
+
+            Response response;
+            try {
+                response = run(MAPPER.readValue(line, Request.class));
+            } catch (IOException e) {
+                response = new Response(2, "Error: invalid request: " + e.getMessage() + "\n");
+            }
+
+            OutputStream output = Channels.newOutputStream(client);
+            output.write(MAPPER.writeValueAsBytes(response));
+            output.write('\n');
+            output.flush();
+        } catch (IOException e) {
+            reporter.error("Error serving generator request: " + e.getMessage());
+        }
+    }
+
+    private static Response run(Request request) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+
+        Cli cli = new Cli(stream, stream);
+        try {
+            new CommandLine(cli).parseArgs(resolvePaths(request).toArray(new String[0]));
+        } catch (CommandLine.ParameterException e) {
+            return new Response(2, "Error: " + e.getMessage() + "\n");
+        }
+
+        if (cli.isLongRunning() || cli.isClient()) {
+            return new Response(2, "Error: --watch, --daemon and --client cannot be used in a daemon request\n");
+        }
+
+        // Profiles are collected process-wide and would mix the phases of concurrent requests
+        if (cli.isProfiling()) {
+            return new Response(2, "Error: --profile cannot be used in a daemon request\n");
+        }
+
+        cli.execute();
+        return new Response(cli.hasFailed() ? 1 : 0, buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> resolvePaths(Request request) {
+        List<String> args = request.args != null ? request.args : List.of();
+        if (request.cwd == null) {
+            return args;
+        }
+
+        Path cwd = Path.of(request.cwd);
+        List<String> resolved = new ArrayList<>(args.size());
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            int separator = arg.indexOf('=');
+
+            if (separator > 0 && PATH_OPTIONS.contains(arg.substring(0, separator))) {
+                resolved.add(arg.substring(0, separator + 1) + resolve(cwd, arg.substring(separator + 1)));
+            } else if (PATH_OPTIONS.contains(arg) && i + 1 < args.size()) {
+                resolved.add(arg);
+                resolved.add(resolve(cwd, args.get(++i)));
+            } else {
+                resolved.add(arg);
+            }
+        }
+        return resolved;
+    }
+
+    private static String resolve(Path cwd, String path) {
+        // java.io.File does not validate the path, so glob characters are kept intact
+        return new File(path).isAbsolute() ? path : new File(cwd.toFile(), path).getPath();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.generator.utils.Reporter;
+
+/**
+ * Generates many connectors inside one process on a bounded thread pool.
+ * The Ballerina parser, formatter and Keccak classes are loaded and JIT-compiled once and then
+ * shared by every contract in the batch.
+ */
+public class BatchGenerator implements AutoCloseable {
+
+    /**
+     * The outcome of generating a single connector.
+     */
+    public static class Result {
+        private final String name;
+        private final String outputDir;
+        private final long durationMillis;
+        private final boolean skipped;
+        private final Exception error;
+
+        Result(String name, String outputDir, long durationMillis, boolean skipped, Exception error) {
+            this.name = name;
+            this.outputDir = outputDir;
+            this.durationMillis = durationMillis;
+            this.skipped = skipped;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getOutputDir() {
+            return outputDir;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isSkipped() {
+            return skipped;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final GenerationOptions options;
+    private final Reporter reporter;
+
+    // Bounds the number of queued contracts so a large bundle is never fully buffered in memory
+    private final Semaphore pending;
+
+    private final List<Future<Result>> futures = new ArrayList<>();
+
+    public BatchGenerator(int threads, GenerationOptions options, Reporter reporter) {
+        this.options = options;
+        this.reporter = reporter;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.pending = new Semaphore(threads * 2);
+    }
+
+    /**
+     * Queues a connector for generation. The ABI is loaded on the worker thread, so reading and
+     * binding the artifact runs in parallel as well. Blocks while too many contracts are pending.
+     */
+    public void submit(String name, Callable<List<AbiEntry>> abiLoader, String outputDir)
+            throws InterruptedException {
+        pending.acquire();
+        Future<Result> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    boolean generated = Generator.generate(abiLoader.call(), outputDir, options, reporter);
+                    return new Result(name, outputDir, elapsedMillis(start), !generated, null);
+                } catch (Exception e) {
+                    return new Result(name, outputDir, elapsedMillis(start), false, e);
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The task never runs to release its permit, e.g. after close()
+            pending.release();
+            throw e;
+        }
+        futures.add(future);
+    }
+
+    /**
+     * Waits for every queued connector and returns the results in submission order.
+     */
+    public List<Result> awaitAll() throws InterruptedException, ExecutionException {
+        List<Result> results = new ArrayList<>(futures.size());
+        for (Future<Result> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -18,21 +18,15 @@
 
 package io.ballerina.web3.generator;
 
-import io.ballerina.compiler.syntax.tree.ClassDefinitionNode;
-import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
-import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
-import io.ballerina.compiler.syntax.tree.ModulePartNode;
-import io.ballerina.compiler.syntax.tree.Node;
-import io.ballerina.compiler.syntax.tree.NodeFactory;
-import io.ballerina.compiler.syntax.tree.NodeList;
-import io.ballerina.compiler.syntax.tree.NodeParser;
-import io.ballerina.compiler.syntax.tree.SyntaxKind;
-import io.ballerina.compiler.syntax.tree.SyntaxTree;
-import io.ballerina.tools.text.TextDocument;
-import io.ballerina.tools.text.TextDocuments;
 import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.generator.DynamicFunctionGenerator.Form;
 import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
+import io.ballerina.web3.generator.utils.PhaseProfiler;
+import io.ballerina.web3.generator.utils.PhaseProfiler.Phase;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,81 +35,145 @@ import org.ballerinalang.formatter.core.FormatterException;
 
 public class ClientGenerator {
 
-        public static String generate(List<AbiEntry> abiEntries) throws FormatterException {
+        // Contract functions are generated, formatted and written this many at a time
+        private static final int FUNCTION_CHUNK_SIZE = 256;
 
-                // Separate functions and events
-                List<AbiEntry> functions = new ArrayList<>();
-                List<AbiEntry> events = new ArrayList<>();
+        private static final String IMPORTS = "import ballerina/http;\n";
 
-                for (AbiEntry entry : abiEntries) {
-                        if ("function".equals(entry.getType())) {
-                                functions.add(entry);
-                        } else if ("event".equals(entry.getType())) {
-                                events.add(entry);
-                        }
-                }
-
-                // Using NodeParser API with templates to generate client declaration
-                ClassDefinitionNode serviceDecl = (ClassDefinitionNode) NodeParser.parseModuleMemberDeclaration(
-                                "public client class Web3 {}");
-
-                List<Node> members = new ArrayList<>();
-
-                StringBuilder data = new StringBuilder();
-
-                data.append("\n// The base URL of the Ethereum JSON-RPC API.\n");
-                data.append("private final string api;\n");
-
-                data.append("\n// The contract address.\n");
-                data.append("private string address;\n");
+        public static String generate(List<AbiEntry> abiEntries) throws FormatterException, IOException {
+                return generate(abiEntries, new FragmentCache(new GenerationOptions().describe()));
+        }
 
-                data.append("\n// The address of the sender (used for transactions).\n");
-                data.append("private string sender = \"\";\n");
+        public static String generate(List<AbiEntry> abiEntries, FragmentCache fragmentCache)
+                        throws FormatterException, IOException {
+                StringWriter writer = new StringWriter();
+                generate(abiEntries, fragmentCache, writer);
+                return writer.toString();
+        }
 
-                data.append("\n// HTTP client to send JSON-RPC requests to the Ethereum node.\n");
-                data.append("private final http:Client rpcClient;\n");
+        /**
+         * Generates the client module and streams it to the writer. Every module and class member is
+         * formatted on its own and written as soon as it is ready, so no syntax tree or source text of
+         * the whole module is ever held in memory.
+         */
+        public static void generate(List<AbiEntry> abiEntries, FragmentCache fragmentCache, Writer writer)
+                        throws FormatterException, IOException {
+                generate(abiEntries, fragmentCache, true, writer);
+        }
 
-                Node clientProperties = NodeParser.parseObjectMember(data.toString());
+        /**
+         * Generates the client module and streams it to the writer.
+         *
+         * @param includeRpcHelpers Whether the client class gets the chain helpers such as getBalance.
+         */
+        public static void generate(List<AbiEntry> abiEntries, FragmentCache fragmentCache,
+                        boolean includeRpcHelpers, Writer writer) throws FormatterException, IOException {
+                writer.write(IMPORTS);
+
+                List<AbiEntry> events = entriesOfType(abiEntries, "event");
+                if (!events.isEmpty()) {
+                        writer.write("\n");
+                        writeEventConstants(events, writer);
+                }
 
-                members.add(clientProperties);
+                writeClientClass(entriesOfType(abiEntries, "function"), fragmentCache, Form.MEMBER,
+                                includeRpcHelpers, writer);
+        }
 
-                members.addAll(StaticFunctionGenerator.generate());
-                members.addAll(DynamicFunctionGenerator.generate(functions));
+        /**
+         * Generates the event topic hash constants of the split layout.
+         */
+        public static void generateEvents(List<AbiEntry> abiEntries, Writer writer)
+                        throws FormatterException, IOException {
+                writeEventConstants(entriesOfType(abiEntries, "event"), writer);
+        }
 
-                NodeList<Node> memberNodeList = NodeFactory.createNodeList(members);
+        /**
+         * Generates the client class of the split layout, whose contract functions delegate to the
+         * implementations written by {@link #generateImplementations}.
+         */
+        public static void generateClient(List<AbiEntry> abiEntries, FragmentCache fragmentCache,
+                        boolean includeRpcHelpers, Writer writer) throws FormatterException, IOException {
+                writer.write(IMPORTS);
+                writeClientClass(entriesOfType(abiEntries, "function"), fragmentCache, Form.DELEGATE,
+                                includeRpcHelpers, writer);
+        }
 
-                serviceDecl = serviceDecl.modify().withMembers(memberNodeList).apply();
+        /**
+         * Generates the module-level implementations of the given contract functions for the split layout.
+         */
+        public static void generateImplementations(List<AbiEntry> functions, FragmentCache fragmentCache,
+                        Writer writer) throws FormatterException, IOException {
+                writer.write(IMPORTS);
+                for (int start = 0; start < functions.size(); start += FUNCTION_CHUNK_SIZE) {
+                        List<AbiEntry> chunk = functions.subList(start,
+                                        Math.min(start + FUNCTION_CHUNK_SIZE, functions.size()));
+                        for (String functionSource : DynamicFunctionGenerator.generate(chunk, fragmentCache,
+                                        Form.IMPLEMENTATION)) {
+                                writeMember(writer, functionSource);
+                        }
+                }
+        }
 
-                // Build module members: event constants + client class
-                List<ModuleMemberDeclarationNode> moduleMembers = new ArrayList<>();
+        /**
+         * Returns the ABI entries of the given type ("function" or "event"), in ABI order.
+         */
+        public static List<AbiEntry> entriesOfType(List<AbiEntry> abiEntries, String type) {
+                List<AbiEntry> entries = new ArrayList<>();
+                for (AbiEntry entry : abiEntries) {
+                        if (type.equals(entry.getType())) {
+                                entries.add(entry);
+                        }
+                }
+                return entries;
+        }
 
-                // Generate event topic hash constants
+        @SuppressWarnings("try")
+        private static void writeEventConstants(List<AbiEntry> events, Writer writer)
+                        throws FormatterException, IOException {
+                boolean first = true;
                 for (AbiEntry event : events) {
                         String eventHash = generateEventTopicHash(event);
                         if (eventHash != null) {
-                                ModuleMemberDeclarationNode eventConst = (ModuleMemberDeclarationNode)
-                                                NodeParser.parseModuleMemberDeclaration(eventHash);
-                                moduleMembers.add(eventConst);
+                                if (!first) {
+                                        writer.write("\n");
+                                }
+                                try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.FORMATTING)) {
+                                        writer.write(Formatter.format(eventHash).strip());
+                                }
+                                writer.write("\n");
+                                first = false;
                         }
                 }
+        }
 
-                moduleMembers.add(serviceDecl);
-
-                ImportDeclarationNode importDecl = (ImportDeclarationNode) NodeParser.parseImportDeclaration(
-                                "import ballerina/http;");
+        @SuppressWarnings("try")
+        private static void writeClientClass(List<AbiEntry> functions, FragmentCache fragmentCache, Form form,
+                        boolean includeRpcHelpers, Writer writer) throws FormatterException, IOException {
+                writer.write("\npublic isolated client class Web3 {\n");
 
-                ModulePartNode modulePartNode = NodeFactory.createModulePartNode(
-                                NodeFactory.createNodeList(importDecl),
-                                NodeFactory.createNodeList(moduleMembers),
-                                NodeFactory.createToken(SyntaxKind.EOF_TOKEN));
+                // Client properties and static functions, precompiled at build time
+                try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.STATIC_MEMBERS)) {
+                        writer.write(StaticFunctionGenerator.generateFormatted(includeRpcHelpers));
+                }
 
-                String sourceCode = modulePartNode.toSourceCode();
+                for (int start = 0; start < functions.size(); start += FUNCTION_CHUNK_SIZE) {
+                        List<AbiEntry> chunk = functions.subList(start,
+                                        Math.min(start + FUNCTION_CHUNK_SIZE, functions.size()));
+                        for (String functionSource : DynamicFunctionGenerator.generate(chunk, fragmentCache, form)) {
+                                writeMember(writer, functionSource);
+                        }
+                }
 
-                TextDocument textDocument = TextDocuments.from(sourceCode);
-                SyntaxTree syntaxTree = SyntaxTree.from(textDocument);
-                syntaxTree = Formatter.format(syntaxTree);
+                writer.write("}\n");
+        }
 
-                return syntaxTree.toSourceCode();
+        /**
+         * Writes a formatted class member, separated from the previous member by one blank line.
+         */
+        private static void writeMember(Writer writer, String memberSource) throws IOException {
+                writer.write("\n");
+                writer.write(CodeGeneratorUtils.stripLeadingNewlines(memberSource));
         }
 
         private static String generateEventTopicHash(AbiEntry event) {
@@ -128,7 +186,7 @@ public class ClientGenerator {
                                 if (i > 0) {
                                         sig.append(",");
                                 }
-                                sig.append(event.getInputs().get(i).getType());
+                                sig.append(event.getInputs().get(i).getCanonicalType());
                         }
                 }
                 sig.append(")");
@@ -18,31 +18,75 @@
 
 package io.ballerina.web3.generator;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.ballerinalang.formatter.core.FormatterException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
 import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
-import io.ballerina.compiler.syntax.tree.Node;
 import io.ballerina.compiler.syntax.tree.NodeParser;
 import io.ballerina.web3.abi.AbiEntry;
 import io.ballerina.web3.abi.AbiInput;
 import io.ballerina.web3.abi.AbiOutput;
 import io.ballerina.web3.generator.utils.BallerinaUtils;
 import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
+import io.ballerina.web3.generator.utils.PhaseProfiler;
+import io.ballerina.web3.generator.utils.PhaseProfiler.Phase;
 
 public class DynamicFunctionGenerator {
 
+        // Below this many functions the fork-join overhead outweighs the gain
+        private static final int PARALLEL_THRESHOLD = 16;
+
+        // Fragment cache key suffix of the module-level implementations of the split layout
+        private static final String IMPLEMENTATION_KEY_SUFFIX = " impl";
+
+        /**
+         * The form in which a contract function is generated.
+         */
+        enum Form {
+                // A resource function of the client class holding the whole call
+                MEMBER,
+                // A resource function of the client class delegating to the implementation
+                DELEGATE,
+                // A module-level function holding the whole call, for the split layout
+                IMPLEMENTATION
+        }
+
+        /**
+         * The expressions a function body uses to reach the RPC client, the call cache, the contract
+         * address, the sender and a new request id: the members of the isolated client, whose mutable
+         * fields are only read within a lock, or the parameters of an implementation function.
+         */
+        private record CallTarget(String rpcClient, String callCache, String address, String sender,
+                        String requestId) {
+        }
+
+        private static final CallTarget CLIENT_MEMBERS = new CallTarget("self.rpcClient", "self.callCache",
+                        "self.getContractAddress()", "self.getSender()", "self.nextRequestId()");
+
+        private static final CallTarget IMPLEMENTATION_PARAMETERS = new CallTarget("web3RpcClient", "web3CallCache",
+                        "web3Address", "web3Sender", "web3RequestId");
+
         private static String convertAbiTypeToBallerina(String abiType) {
-                if (abiType.endsWith("[]")) {
-                        String baseType = abiType.substring(0, abiType.length() - 2);
+                if (abiType.endsWith("]")) {
+                        // Fixed-size arrays too, whose length the encoder checks
+                        String baseType = abiType.substring(0, abiType.lastIndexOf('['));
                         return convertAbiTypeToBallerina(baseType) + "[]";
                 }
 
+                if (isWideUnsignedType(abiType)) {
+                        return "decimal";
+                }
+
                 return switch (abiType) {
-                        // All unsigned integer types
-                        case "uint8", "uint16", "uint32", "uint64", "uint128", "uint256" -> "int";
+                        // Unsigned integer types within the int range
+                        case "uint8", "uint16", "uint32" -> "int";
                         // All signed integer types
                         case "int8", "int16", "int32", "int64", "int128", "int256" -> "int";
                         case "bool" -> "boolean";
@@ -66,6 +110,64 @@ public class DynamicFunctionGenerator {
                 };
         }
 
+        /**
+         * Returns true for unsigned integers of 64 bits or more, which can exceed the int range and
+         * are mapped to decimal.
+         */
+        private static boolean isWideUnsignedType(String abiType) {
+                if (!abiType.startsWith("uint")) {
+                        return false;
+                }
+                String bits = abiType.substring(4);
+                if (bits.isEmpty()) {
+                        return true; // uint is an alias of uint256
+                }
+                return bits.chars().allMatch(Character::isDigit) && Integer.parseInt(bits) >= 64;
+        }
+
+        /**
+         * Maps an output to the Ballerina type it is decoded to. Tuples become closed records with a
+         * field per component, so an array of structs is returned as an array of records.
+         */
+        private static String convertOutputToBallerina(AbiOutput output) {
+                String type = output.getType();
+                if (!type.startsWith("tuple")) {
+                        return convertAbiTypeToBallerina(type);
+                }
+
+                StringBuilder record = new StringBuilder("record {|");
+                List<AbiOutput> components = output.getComponents() != null ? output.getComponents() : List.of();
+                for (int i = 0; i < components.size(); i++) {
+                        AbiOutput component = components.get(i);
+                        record.append(" ").append(convertOutputToBallerina(component)).append(" ")
+                                        .append(BallerinaUtils.sanitizeFieldName(component.getName(), i)).append(";");
+                }
+                record.append(" |}");
+
+                // One [] per dimension of tuple[], tuple[2][] and so on
+                return record + type.substring("tuple".length()).replaceAll("\\[\\d*\\]", "[]");
+        }
+
+        /**
+         * Returns the type the decoder reads an output as: the canonical type, with each tuple
+         * component followed by the name of its record field, e.g. "(uint256 price,address maker)[]".
+         */
+        private static String decodingTypeOf(AbiOutput output) {
+                String type = output.getType();
+                if (!type.startsWith("tuple")) {
+                        return type;
+                }
+
+                StringJoiner tuple = new StringJoiner(",", "(", ")");
+                List<AbiOutput> components = output.getComponents() != null ? output.getComponents() : List.of();
+                for (int i = 0; i < components.size(); i++) {
+                        AbiOutput component = components.get(i);
+                        tuple.add(decodingTypeOf(component) + " "
+                                        + BallerinaUtils.sanitizeFieldName(component.getName(), i));
+                }
+                return tuple + type.substring("tuple".length());
+        }
+
         private static String generateBallerinaReturnType(List<AbiOutput> outputs, String functionName,
                         String stateMutability) {
                 boolean isReadOnly = "view".equals(stateMutability) || "pure".equals(stateMutability);
@@ -79,9 +181,17 @@ public class DynamicFunctionGenerator {
                         return "error?";
                 }
 
+                return generateOutputType(outputs) + "|error?";
+        }
+
+        /**
+         * Returns the Ballerina type of the decoded outputs: the type of a single output, or an inline
+         * record type with a field per output.
+         */
+        private static String generateOutputType(List<AbiOutput> outputs) {
                 // If there's only one output, return its native type
                 if (outputs.size() == 1) {
-                        return convertAbiTypeToBallerina(outputs.get(0).getType()) + "|error?";
+                        return convertOutputToBallerina(outputs.get(0));
                 }
 
                 // If multiple outputs, generate an inline record type
@@ -89,39 +199,46 @@ public class DynamicFunctionGenerator {
 
                 for (int i = 0; i < outputs.size(); i++) {
                         AbiOutput output = outputs.get(i);
-                        recordType.append(convertAbiTypeToBallerina(output.getType()))
+                        recordType.append(convertOutputToBallerina(output))
                                         .append(" ")
-                                        .append(output.getName().isEmpty() ? "value" + i
-                                                        : output.getName())
+                                        .append(BallerinaUtils.sanitizeFieldName(output.getName(), i))
                                         .append("; ");
                 }
 
-                recordType.append("|}|error?");
+                recordType.append("|}");
                 return recordType.toString();
         }
 
         private static String generateResourceFunctionSignature(List<AbiInput> inputs, List<AbiOutput> outputs,
                         String methodName, String stateMutability) {
-                StringBuilder data = new StringBuilder();
+                return generateFunctionSignature("resource isolated function post " + methodName + "(", inputs,
+                                outputs, methodName, stateMutability);
+        }
 
-                // Define the function signature
-                data.append("resource isolated function post ").append(methodName).append("(");
+        private static String generateImplementationFunctionSignature(List<AbiInput> inputs,
+                        List<AbiOutput> outputs, String methodName, String stateMutability) {
+                String prefix = String.format(
+                                "isolated function %s(http:Client %s, CallCache? %s, string %s, string %s, int %s%s",
+                                implementationName(methodName), IMPLEMENTATION_PARAMETERS.rpcClient(),
+                                IMPLEMENTATION_PARAMETERS.callCache(), IMPLEMENTATION_PARAMETERS.address(),
+                                IMPLEMENTATION_PARAMETERS.sender(), IMPLEMENTATION_PARAMETERS.requestId(),
+                                inputs.isEmpty() ? "" : ", ");
+                return generateFunctionSignature(prefix, inputs, outputs, methodName, stateMutability);
+        }
 
-                // Add function parameters
-                if (!inputs.isEmpty()) {
-                        for (int i = 0; i < inputs.size(); i++) {
-                                AbiInput input = inputs.get(i);
+        private static String implementationName(String methodName) {
+                return methodName + "Impl";
+        }
 
-                                String sanitizedInputName = BallerinaUtils.sanitizeParameterName(input.getName(), i);
+        private static String generateFunctionSignature(String prefix, List<AbiInput> inputs,
+                        List<AbiOutput> outputs, String methodName, String stateMutability) {
+                StringBuilder data = new StringBuilder();
 
-                                data.append(convertAbiTypeToBallerina(input.getType())).append(" ")
-                                                .append(sanitizedInputName);
+                // Define the function signature
+                data.append(prefix);
 
-                                if (i < inputs.size() - 1) {
-                                        data.append(", "); // Add comma separator
-                                }
-                        }
-                }
+                // Add function parameters
+                data.append(generateParameterDeclarations(inputs));
 
                 data.append(") returns ");
 
@@ -130,94 +247,59 @@ public class DynamicFunctionGenerator {
                 return data.toString();
         }
 
-        private static String generateDecodingLogic(List<AbiOutput> outputs) {
-                if (outputs.size() == 1) {
-                        return generateSingleOutputDecoding(outputs.get(0).getType());
-                }
+        private static String generateParameterDeclarations(List<AbiInput> inputs) {
+                StringBuilder data = new StringBuilder();
 
-                // For multiple outputs, decode each 32-byte slot
-                StringBuilder logic = new StringBuilder();
-                logic.append("string rawHex = response.result.startsWith(\"0x\") ? response.result.substring(2) : response.result;\n");
+                for (int i = 0; i < inputs.size(); i++) {
+                        AbiInput input = inputs.get(i);
 
-                for (int i = 0; i < outputs.size(); i++) {
-                        AbiOutput output = outputs.get(i);
-                        String slotVar = "slot" + i;
-                        int offset = i * 64;
-                        logic.append("string ").append(slotVar).append(" = rawHex.substring(")
-                                        .append(offset).append(", ").append(offset + 64).append(");\n");
-
-                        String fieldName = output.getName().isEmpty() ? "value" + i : output.getName();
-                        String decodeExpr = generateSlotDecoding(output.getType(), slotVar);
-                        logic.append(convertAbiTypeToBallerina(output.getType())).append(" ").append(fieldName)
-                                        .append(" = ").append(decodeExpr).append(";\n");
-                }
+                        String sanitizedInputName = BallerinaUtils.sanitizeParameterName(input.getName(), i);
 
-                // Build the return record
-                logic.append("return {");
-                for (int i = 0; i < outputs.size(); i++) {
-                        AbiOutput output = outputs.get(i);
-                        String fieldName = output.getName().isEmpty() ? "value" + i : output.getName();
-                        if (i > 0) {
-                                logic.append(", ");
+                        data.append(convertAbiTypeToBallerina(input.getType())).append(" ")
+                                        .append(sanitizedInputName);
+
+                        if (i < inputs.size() - 1) {
+                                data.append(", "); // Add comma separator
                         }
-                        logic.append(fieldName);
                 }
-                logic.append("};\n");
 
-                // Remove the trailing "return result;" that the caller appends
-                return logic.toString();
+                return data.toString();
         }
 
-        private static String generateSlotDecoding(String type, String slotVar) {
-                if (type.equals("bool")) {
-                        return slotVar + ".endsWith(\"1\")";
-                } else if (type.equals("address")) {
-                        return "\"0x\" + " + slotVar + ".substring(24)";
-                } else if (type.equals("string") || type.equals("bytes")) {
-                        return slotVar; // Dynamic types need offset-based decoding (simplified)
-                } else if (type.startsWith("uint") || type.startsWith("int")) {
-                        return "check hexToDecimal(" + slotVar + ")";
-                } else if (type.startsWith("bytes")) {
-                        return slotVar + ".toBytes()";
+        private static String generateDecodingLogic(List<AbiOutput> outputs, String returnData) {
+                // The result is converted to bytes once and read by offset, heads and tails alike
+                StringJoiner types = new StringJoiner(", ");
+                for (AbiOutput output : outputs) {
+                        types.add("\"" + decodingTypeOf(output) + "\"");
+                }
+                StringBuilder logic = new StringBuilder("anydata[] decoded = check decodeParameters([")
+                                .append(types).append("], ").append(returnData).append(");\n");
+
+                if (outputs.size() == 1) {
+                        AbiOutput output = outputs.get(0);
+                        logic.append(convertOutputToBallerina(output)).append(" result = ")
+                                        .append(generateConversion(output, "decoded[0]")).append(";\n");
+                        return logic.toString();
+                }
+
+                // Build the return record; the caller appends no "return result;" for multiple outputs
+                StringJoiner fields = new StringJoiner(", ", "return {", "};\n");
+                for (int i = 0; i < outputs.size(); i++) {
+                        AbiOutput output = outputs.get(i);
+                        fields.add(BallerinaUtils.sanitizeFieldName(output.getName(), i) + ": "
+                                        + generateConversion(output, "decoded[" + i + "]"));
                 }
-                return slotVar;
+                return logic.append(fields).toString();
         }
 
-        private static String generateSingleOutputDecoding(String outputType) {
-                return switch (outputType) {
-                        case "uint256", "uint128", "uint64", "uint32", "uint16", "uint8",
-                             "int256", "int128", "int64", "int32", "int16", "int8" ->
-                                """
-                                string rawHex = response.result.startsWith("0x") ? response.result.substring(2) : response.result;
-                                int result = check hexToDecimal(rawHex);
-                                """;
-                        case "bool" ->
-                                "boolean result = response.result.endsWith(\"1\");\n";
-                        case "address" ->
-                                """
-                                string rawHex = response.result.startsWith("0x") ? response.result.substring(2) : response.result;
-                                string result = "0x" + rawHex.substring(24);
-                                """;
-                        case "string" ->
-                                """
-                                string rawHex = response.result.startsWith("0x") ? response.result.substring(2) : response.result;
-                                string result = rawHex;
-                                """;
-                        default -> {
-                                if (outputType.startsWith("uint") || outputType.startsWith("int")) {
-                                        yield """
-                                        string rawHex = response.result.startsWith("0x") ? response.result.substring(2) : response.result;
-                                        int result = check hexToDecimal(rawHex);
-                                        """;
-                                } else if (outputType.startsWith("bytes")) {
-                                        yield """
-                                        string rawHex = response.result.startsWith("0x") ? response.result.substring(2) : response.result;
-                                        byte[] result = rawHex.toBytes();
-                                        """;
-                                }
-                                yield "json result = response.result;\n";
-                        }
-                };
+        /**
+         * Converts a decoded value to its Ballerina type. Scalars already have it and are only narrowed;
+         * arrays and tuples are decoded to anydata arrays and maps, and are rebuilt with their types.
+         */
+        private static String generateConversion(AbiOutput output, String value) {
+                String type = output.getType();
+                boolean structured = type.endsWith("]") || type.startsWith("tuple");
+                return "check " + value + (structured ? ".cloneWithType()" : ".ensureType()");
         }
 
         private static String generateParameterList(List<AbiInput> inputs) {
@@ -238,50 +320,63 @@ public class DynamicFunctionGenerator {
                 return data.toString();
         }
 
+        /**
+         * Returns the canonical ABI types of the parameters as Ballerina string literals, which tell the
+         * encoder how to lay out each value, e.g. "address", "(uint256,string)[]".
+         */
+        private static String generateParameterTypes(List<AbiInput> inputs) {
+                StringJoiner types = new StringJoiner(", ");
+                for (AbiInput input : inputs) {
+                        types.add("\"" + input.getCanonicalType() + "\"");
+                }
+                return types.toString();
+        }
+
         private static String generateResourceFunctionBody(List<AbiInput> inputs, List<AbiOutput> outputs,
-                        String functionSelector, String stateMutability) {
+                        String functionSelector, String stateMutability, CallTarget target) {
 
                 String parameterList = generateParameterList(inputs);
+                String parameterTypes = generateParameterTypes(inputs);
                 boolean isReadOnly = "view".equals(stateMutability) || "pure".equals(stateMutability);
                 boolean isPayable = "payable".equals(stateMutability);
 
                 StringBuilder result = new StringBuilder();
 
-                result.append("""
-                                // Encode function parameters
-                                string encodedParameters = encodeParameters([%s]);
-                                string callData =  "0x" + "%s" + encodedParameters;
+                if (inputs.isEmpty()) {
+                        // Without parameters the calldata is the selector alone, known at generation time
+                        result.append("""
+                                        string callData = "0x%s";
 
-                                """.formatted(parameterList, functionSelector));
+                                        """.formatted(functionSelector));
+                } else {
+                        result.append("""
+                                        // Encode function parameters
+                                        string encodedParameters = check encodeParameters([%s], [%s]);
+                                        string callData =  "0x" + "%s" + encodedParameters;
+
+                                        """.formatted(parameterTypes, parameterList, functionSelector));
+                }
 
                 if (isReadOnly) {
-                        // View/pure functions use eth_call
+                        // View/pure functions use eth_call; the result of a pure function never changes
                         result.append("""
-                                // Generate the JSON-RPC request body (read-only call)
-                                json requestBody = {
-                                    "jsonrpc": "2.0",
-                                    "method": "eth_call",
-                                    "params": [
-                                        {"to": self.address, "data": callData},
-                                        "latest"
-                                    ],
-                                    "id": 1
-                                };
-
-                                // Send the request and get response
-                                record {string result;} response = check self.rpcClient->post("/", requestBody);
+                                // Send the read-only call, unless its result is in the call cache
+                                %s check sendCachedRequest(%s, %s, "eth_call",
+                                    [{"to": %s, "data": callData}, "latest"], %s%s);
 
-                                """);
+                                """.formatted(outputs.isEmpty() ? "_ =" : "string returnData =", target.rpcClient(),
+                                                target.callCache(), target.address(), target.requestId(),
+                                                "pure".equals(stateMutability) ? ", true" : ""));
                 } else {
                         // State-mutating functions use eth_sendTransaction
                         result.append("""
                                 // Generate the JSON-RPC request body (state-changing transaction)
                                 json txnParams = {
-                                    "from": self.sender,
-                                    "to": self.address,
+                                    "from": %s,
+                                    "to": %s,
                                     "data": callData
                                 };
-                                """);
+                                """.formatted(target.sender(), target.address()));
 
                         if (isPayable) {
                                 result.append("""
@@ -296,18 +391,18 @@ public class DynamicFunctionGenerator {
                                     "jsonrpc": "2.0",
                                     "method": "eth_sendTransaction",
                                     "params": [txnParams],
-                                    "id": 1
+                                    "id": %s
                                 };
 
                                 // Send the transaction and get the transaction hash
-                                record {string result;} response = check self.rpcClient->post("/", requestBody);
+                                record {string result;} response = check %s->post("/", requestBody);
 
-                                """);
+                                """.formatted(target.requestId(), target.rpcClient()));
                 }
 
                 // Add decoding logic only if outputs are present
                 if (!outputs.isEmpty() && isReadOnly) {
-                        String decodingLogic = generateDecodingLogic(outputs);
+                        String decodingLogic = generateDecodingLogic(outputs, "returnData");
                         result.append(decodingLogic);
                         // Multi-output decoding already includes its own return statement
                         if (outputs.size() == 1) {
@@ -334,7 +429,8 @@ public class DynamicFunctionGenerator {
                 // Generate function signature and body
                 String functionSignature = generateResourceFunctionSignature(inputs, outputs, methodName,
                                 stateMutability);
-                String functionBody = generateResourceFunctionBody(inputs, outputs, functionSelector, stateMutability);
+                String functionBody = generateResourceFunctionBody(inputs, outputs, functionSelector, stateMutability,
+                                CLIENT_MEMBERS);
 
                 // Ensure correct Ballerina syntax
                 return (FunctionDefinitionNode) NodeParser.parseObjectMember(
@@ -345,16 +441,176 @@ public class DynamicFunctionGenerator {
                                                 """, functionSignature, functionBody));
         }
 
-        public static List<Node> generate(List<AbiEntry> abiEntries) throws FormatterException {
+        /**
+         * Generates the calldata builder and the return data decoder of a view or pure function, which
+         * let many calls be packed into one multicall and their results be decoded one by one, e.g.
+         * encodeBalanceOf and decodeBalanceOf. Other functions get none and an empty string is returned.
+         */
+        private static String generateCallHelpers(AbiEntry abiEntry) {
+                List<AbiInput> inputs = abiEntry.getInputs() != null ? abiEntry.getInputs() : List.of();
+                List<AbiOutput> outputs = abiEntry.getOutputs() != null ? abiEntry.getOutputs() : List.of();
+                String stateMutability = abiEntry.getStateMutability() != null ? abiEntry.getStateMutability() : "";
+                if (!"view".equals(stateMutability) && !"pure".equals(stateMutability)) {
+                        return "";
+                }
 
-                List<Node> memberNodes = new ArrayList<>();
+                String methodName = BallerinaUtils.sanitizeMethodName(abiEntry.getName());
+                String capitalizedName = Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1);
+                String functionSelector = CodeGeneratorUtils.generateFunctionSelector(abiEntry);
 
-                // Generate resource functions for each ABI entry
-                for (AbiEntry abiEntry : abiEntries) {
-                        FunctionDefinitionNode resourceMethod = generateResourceFunction(abiEntry);
-                        memberNodes.add(resourceMethod);
+                String builder;
+                if (inputs.isEmpty()) {
+                        builder = String.format("""
+                                        public isolated function encode%s() returns string {
+                                            return "0x%s";
+                                        }
+                                        """, capitalizedName, functionSelector);
+                } else {
+                        builder = String.format("""
+                                        public isolated function encode%s(%s) returns string|error {
+                                            string encodedParameters = check encodeParameters([%s], [%s]);
+                                            return "0x" + "%s" + encodedParameters;
+                                        }
+                                        """, capitalizedName, generateParameterDeclarations(inputs),
+                                        generateParameterTypes(inputs), generateParameterList(inputs),
+                                        functionSelector);
+                }
+                StringBuilder helpers = new StringBuilder(
+                                ((FunctionDefinitionNode) NodeParser.parseObjectMember(builder)).toSourceCode());
+
+                if (!outputs.isEmpty()) {
+                        String decodingLogic = generateDecodingLogic(outputs, "returnData");
+                        String decoder = String.format("""
+                                        public isolated function decode%s(string returnData) returns %s|error {
+                                            %s%s
+                                        }
+                                        """, capitalizedName, generateOutputType(outputs), decodingLogic,
+                                        outputs.size() == 1 ? "return result;" : "");
+                        FunctionDefinitionNode decoderFunction = (FunctionDefinitionNode) NodeParser
+                                        .parseObjectMember(decoder);
+                        helpers.append("\n").append(decoderFunction.toSourceCode());
                 }
+                return helpers.toString();
+        }
 
-                return memberNodes;
+        private static FunctionDefinitionNode generateDelegateFunction(AbiEntry abiEntry) {
+                List<AbiInput> inputs = abiEntry.getInputs() != null ? abiEntry.getInputs() : List.of();
+                List<AbiOutput> outputs = abiEntry.getOutputs() != null ? abiEntry.getOutputs() : List.of();
+                String stateMutability = abiEntry.getStateMutability() != null ? abiEntry.getStateMutability() : "";
+
+                String methodName = BallerinaUtils.sanitizeMethodName(abiEntry.getName());
+
+                String functionSignature = generateResourceFunctionSignature(inputs, outputs, methodName,
+                                stateMutability);
+                String parameterList = generateParameterList(inputs);
+
+                return (FunctionDefinitionNode) NodeParser.parseObjectMember(
+                                String.format("""
+                                                %s {
+                                                    return %s(%s, %s, %s, %s, %s%s);
+                                                }
+                                                """, functionSignature, implementationName(methodName),
+                                                CLIENT_MEMBERS.rpcClient(), CLIENT_MEMBERS.callCache(),
+                                                CLIENT_MEMBERS.address(), CLIENT_MEMBERS.sender(),
+                                                CLIENT_MEMBERS.requestId(),
+                                                parameterList.isEmpty() ? "" : ", " + parameterList));
+        }
+
+        private static FunctionDefinitionNode generateImplementationFunction(AbiEntry abiEntry) {
+                List<AbiInput> inputs = abiEntry.getInputs() != null ? abiEntry.getInputs() : List.of();
+                List<AbiOutput> outputs = abiEntry.getOutputs() != null ? abiEntry.getOutputs() : List.of();
+                String stateMutability = abiEntry.getStateMutability() != null ? abiEntry.getStateMutability() : "";
+
+                String methodName = BallerinaUtils.sanitizeMethodName(abiEntry.getName());
+
+                String functionSelector = CodeGeneratorUtils.generateFunctionSelector(abiEntry);
+
+                String functionSignature = generateImplementationFunctionSignature(inputs, outputs, methodName,
+                                stateMutability);
+                String functionBody = generateResourceFunctionBody(inputs, outputs, functionSelector, stateMutability,
+                                IMPLEMENTATION_PARAMETERS);
+
+                return (FunctionDefinitionNode) NodeParser.parseModuleMemberDeclaration(
+                                String.format("""
+                                                %s {
+                                                    %s
+                                                }
+                                                """, functionSignature, functionBody));
+        }
+
+        /**
+         * Generates the formatted source of a resource function for each ABI entry.
+         */
+        public static List<String> generate(List<AbiEntry> abiEntries, FragmentCache fragmentCache)
+                        throws FormatterException, JsonProcessingException {
+                return generate(abiEntries, fragmentCache, Form.MEMBER);
+        }
+
+        /**
+         * Generates the formatted source of each ABI entry in the given form.
+         * Functions found unchanged in the fragment cache are reused as they are, so only new or
+         * changed entries are generated and formatted.
+         *
+         * Large ABIs are processed on the common fork-join pool. Each NodeParser and Formatter call
+         * creates its own parser and tree, the Keccak digest is created per call and the fragment cache
+         * is concurrent, so no locking is needed. The returned list keeps the ABI order.
+         */
+        static List<String> generate(List<AbiEntry> abiEntries, FragmentCache fragmentCache, Form form)
+                        throws FormatterException, JsonProcessingException {
+
+                Stream<AbiEntry> entries = abiEntries.size() >= PARALLEL_THRESHOLD
+                                ? abiEntries.parallelStream() : abiEntries.stream();
+
+                try {
+                        return entries.map(abiEntry -> {
+                                try {
+                                        return generateSource(abiEntry, fragmentCache, form);
+                                } catch (FormatterException | JsonProcessingException e) {
+                                        throw new CompletionException(e);
+                                }
+                        }).collect(Collectors.toList());
+                } catch (CompletionException e) {
+                        // Fork-join workers rethrow an exception wrapped in another CompletionException
+                        Throwable cause = e;
+                        while (cause instanceof CompletionException && cause.getCause() != null) {
+                                cause = cause.getCause();
+                        }
+                        if (cause instanceof FormatterException formatterException) {
+                                throw formatterException;
+                        }
+                        if (cause instanceof JsonProcessingException jsonException) {
+                                throw jsonException;
+                        }
+                        throw e;
+                }
+        }
+
+        @SuppressWarnings("try")
+        private static String generateSource(AbiEntry abiEntry, FragmentCache fragmentCache, Form form)
+                        throws FormatterException, JsonProcessingException {
+                try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.DYNAMIC_FUNCTIONS)) {
+                        // Delegates and members never share a cache, as the layout is part of its options
+                        String key = form == Form.IMPLEMENTATION
+                                        ? FragmentCache.keyOf(abiEntry) + IMPLEMENTATION_KEY_SUFFIX
+                                        : FragmentCache.keyOf(abiEntry);
+                        String fingerprint = FragmentCache.fingerprintOf(abiEntry);
+
+                        String source = fragmentCache.get(key, fingerprint);
+                        if (source == null) {
+                                source = switch (form) {
+                                        case MEMBER -> CodeGeneratorUtils.formatClassMember(
+                                                        generateResourceFunction(abiEntry).toSourceCode() + "\n"
+                                                                        + generateCallHelpers(abiEntry));
+                                        case DELEGATE -> CodeGeneratorUtils.formatClassMember(
+                                                        generateDelegateFunction(abiEntry).toSourceCode() + "\n"
+                                                                        + generateCallHelpers(abiEntry));
+                                        case IMPLEMENTATION -> CodeGeneratorUtils.formatModuleMember(
+                                                        generateImplementationFunction(abiEntry).toSourceCode());
+                                };
+                                fragmentCache.put(key, fingerprint, source);
+                        }
+
+                        return source;
+                }
         }
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
+import io.ballerina.web3.generator.utils.FileUtils;
+import io.ballerina.web3.generator.utils.Reporter;
+
+/**
+ * Caches the generated, formatted source of each contract function between runs, so that
+ * only new or changed ABI entries are generated and formatted again.
+ *
+ * A fragment is keyed by the function's canonical signature and state mutability. It also stores a
+ * fingerprint of the whole ABI entry, because parameter names and outputs change the generated
+ * source without changing the signature.
+ *
+ * The cache file records the same tool version as the generation manifest, including its digest of
+ * the bundled resources and generator classes, so fragments formatted by another build are never reused.
+ *
+ * The cache file holds a header line followed by one line per fragment. Only the position of each
+ * fragment is kept in memory: sources are read back from the previous cache file when they are reused,
+ * and every fragment of the running generation is appended to a log next to it as soon as it is produced.
+ * Saving sorts the log into the new cache file, so the file does not change when the ABI does not.
+ */
+public class FragmentCache implements Closeable {
+
+    public static final String FILE_NAME = ".web3-fragments.jsonl";
+
+    private static final String LOG_SUFFIX = ".log";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Header {
+        @JsonProperty("toolVersion")
+        String toolVersion;
+
+        @JsonProperty("options")
+        Map<String, String> options;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Fragment {
+        @JsonProperty("key")
+        String key;
+
+        @JsonProperty("fingerprint")
+        String fingerprint;
+
+        @JsonProperty("source")
+        String source;
+
+        // Required by Jackson
+        Fragment() {
+        }
+
+        Fragment(String key, String fingerprint, String source) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.source = source;
+        }
+    }
+
+    /**
+     * The line of a fragment in a cache file or log, without its line break.
+     */
+    private record Location(String fingerprint, long offset, int length) {
+    }
+
+    private final String toolVersion;
+    private final Map<String, String> options;
+
+    // Null for a cache that keeps its fragments in memory and is never saved
+    private final Path cachePath;
+
+    // The fragments of the previous run and the cache file they are read from
+    private final Map<String, Location> previous;
+    private final FileChannel previousChannel;
+
+    // The fragments used in this run (which are the ones saved) and the log they are appended to
+    private final Map<String, Location> current = new ConcurrentHashMap<>();
+    private final FileChannel log;
+    private long logSize;
+    private volatile boolean logFailed;
+
+    // The fragments of a cache without an output directory
+    private final Map<String, Fragment> retained = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Creates a cache that keeps its fragments in memory, for generating a single module without
+     * an output directory.
+     */
+    public FragmentCache(Map<String, String> options) {
+        this.toolVersion = GenerationManifest.currentToolVersion();
+        this.options = options;
+        this.cachePath = null;
+        this.previous = Map.of();
+        this.previousChannel = null;
+        this.log = null;
+    }
+
+    private FragmentCache(Map<String, String> options, Path cachePath, Map<String, Location> previous,
+            FileChannel previousChannel) throws IOException {
+        this.toolVersion = GenerationManifest.currentToolVersion();
+        this.options = options;
+        this.cachePath = cachePath;
+        this.previous = previous;
+        this.previousChannel = previousChannel;
+        this.log = FileChannel.open(logPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Creates an empty cache that is saved to the output directory, replacing the fragments saved there.
+     */
+    public static FragmentCache create(String outputDir, Map<String, String> options) throws IOException {
+        Path cachePath = Path.of(outputDir, FILE_NAME);
+        Files.createDirectories(cachePath.toAbsolutePath().getParent());
+        return new FragmentCache(options, cachePath, Map.of(), null);
+    }
+
+    /**
+     * Loads the fragments saved in the output directory. Fragments written by another build of the
+     * tool or with other generation options are discarded.
+     */
+    public static FragmentCache load(String outputDir, Map<String, String> options) throws IOException {
+        Path cachePath = Path.of(outputDir, FILE_NAME);
+        if (!Files.isRegularFile(cachePath)) {
+            return create(outputDir, options);
+        }
+
+        Map<String, Location> previous;
+        try {
+            previous = index(cachePath, options);
+        } catch (IOException e) {
+            // A corrupt cache file simply means every function is generated again
+            previous = null;
+        }
+        if (previous == null || previous.isEmpty()) {
+            return create(outputDir, options);
+        }
+        return new FragmentCache(options, cachePath, previous, FileChannel.open(cachePath, StandardOpenOption.READ));
+    }
+
+    /**
+     * Returns the location of each fragment in the cache file, or null if the file was written by
+     * another build of the tool or with other options. Sources are skipped without being decoded.
+     */
+    private static Map<String, Location> index(Path cachePath, Map<String, String> options) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(cachePath.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            Header header = MAPPER.readValue(parser, Header.class);
+            if (!Objects.equals(GenerationManifest.currentToolVersion(), header.toolVersion)
+                    || !Objects.equals(options, header.options)) {
+                return null;
+            }
+
+            Map<String, Location> locations = new HashMap<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long offset = parser.getTokenLocation().getByteOffset();
+                String key = null;
+                String fingerprint = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("key".equals(field)) {
+                        key = parser.getText();
+                    } else if ("fingerprint".equals(field)) {
+                        fingerprint = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                long end = parser.getCurrentLocation().getByteOffset();
+                if (key != null && fingerprint != null) {
+                    locations.put(key, new Location(fingerprint, offset, Math.toIntExact(end - offset)));
+                }
+            }
+            return locations;
+        }
+    }
+
+    /**
+     * Returns the canonical key of a function, e.g. `transfer(address,uint256) nonpayable`.
+     */
+    public static String keyOf(AbiEntry abiEntry) {
+        StringBuilder key = new StringBuilder(abiEntry.getName()).append("(");
+        if (abiEntry.getInputs() != null) {
+            for (int i = 0; i < abiEntry.getInputs().size(); i++) {
+                if (i > 0) {
+                    key.append(",");
+                }
+                key.append(abiEntry.getInputs().get(i).getCanonicalType());
+            }
+        }
+        return key.append(") ").append(abiEntry.getStateMutability()).toString();
+    }
+
+    public static String fingerprintOf(AbiEntry abiEntry) throws JsonProcessingException {
+        return CodeGeneratorUtils.hashSha256(MAPPER.writeValueAsBytes(abiEntry));
+    }
+
+    /**
+     * Returns the cached source for the function, or null if it is new or has changed.
+     */
+    public String get(String key, String fingerprint) {
+        String source = find(key, fingerprint);
+        if (source == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return source;
+    }
+
+    private String find(String key, String fingerprint) {
+        if (log == null) {
+            Fragment fragment = retained.get(key);
+            return fragment != null && fingerprint.equals(fragment.fingerprint) ? fragment.source : null;
+        }
+
+        try {
+            // Fragments generated earlier by this instance come first, then those of the previous run
+            Location location = current.get(key);
+            if (location != null) {
+                return fingerprint.equals(location.fingerprint()) ? read(log, location).source : null;
+            }
+
+            location = previous.get(key);
+            if (location == null || !fingerprint.equals(location.fingerprint())) {
+                return null;
+            }
+            Fragment fragment = read(previousChannel, location);
+            append(fragment);
+            return fragment.source;
+        } catch (IOException e) {
+            // An unreadable fragment is generated again
+            return null;
+        }
+    }
+
+    public void put(String key, String fingerprint, String source) {
+        Fragment fragment = new Fragment(key, fingerprint, source);
+        if (log == null) {
+            retained.put(key, fragment);
+            return;
+        }
+
+        try {
+            append(fragment);
+        } catch (IOException e) {
+            // The generation goes on; only the cache file is not replaced
+            logFailed = true;
+        }
+    }
+
+    private synchronized void append(Fragment fragment) throws IOException {
+        byte[] line = MAPPER.writeValueAsBytes(fragment);
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        long offset = logSize;
+        while (buffer.hasRemaining()) {
+            logSize += log.write(buffer, logSize);
+        }
+        current.put(fragment.key, new Location(fragment.fingerprint, offset, line.length));
+    }
+
+    private static Fragment read(FileChannel channel, Location location) throws IOException {
+        return MAPPER.readValue(readLine(channel, location), Fragment.class);
+    }
+
+    private static byte[] readLine(FileChannel channel, Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, location.offset() + buffer.position()) < 0) {
+                throw new EOFException("Fragment cache is truncated");
+            }
+        }
+        return buffer.array();
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Saves the fragments used in this run to the output directory, sorted by key; fragments of
+     * removed functions are dropped. Fragments are copied from the log one at a time.
+     */
+    public void save(Reporter reporter) {
+        if (log == null) {
+            return;
+        }
+        if (logFailed) {
+            reporter.error("Error writing fragment cache: the fragment log could not be written");
+            return;
+        }
+
+        Header header = new Header();
+        header.toolVersion = toolVersion;
+        header.options = options;
+        try {
+            // The previous cache file is replaced below
+            if (previousChannel != null) {
+                previousChannel.close();
+            }
+            FileUtils.writeIfChanged(cachePath, writer -> {
+                writer.write(MAPPER.writeValueAsString(header));
+                writer.write('\n');
+                for (Location location : new TreeMap<>(current).values()) {
+                    writer.write(new String(readLine(log, location), StandardCharsets.UTF_8));
+                    writer.write('\n');
+                }
+            });
+        } catch (IOException e) {
+            reporter.error("Error writing fragment cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the cache files and deletes the log of this run.
+     */
+    @Override
+    public void close() throws IOException {
+        if (log == null) {
+            return;
+        }
+        try {
+            if (previousChannel != null) {
+                previousChannel.close();
+            }
+            log.close();
+        } finally {
+            Files.deleteIfExists(logPath());
+        }
+    }
+
+    private Path logPath() {
+        return cachePath.resolveSibling(FILE_NAME + LOG_SUFFIX);
+    }
+}
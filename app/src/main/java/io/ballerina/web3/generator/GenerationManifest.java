@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.bouncycastle.jcajce.provider.digest.SHA256;
+
+import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.abi.AbiInput;
+import io.ballerina.web3.abi.AbiOutput;
+import io.ballerina.web3.generator.utils.AbiCodec;
+import io.ballerina.web3.generator.utils.AbiType;
+import io.ballerina.web3.generator.utils.BallerinaUtils;
+import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
+import io.ballerina.web3.generator.utils.FileUtils;
+import io.ballerina.web3.generator.utils.Reporter;
+
+/**
+ * Records what an output directory was generated from, so that an unchanged ABI can skip generation.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GenerationManifest {
+
+    public static final String FILE_NAME = ".web3-manifest.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Everything the generated files are made of besides the ABI and the options
+    private static final List<String> BUNDLED_RESOURCES = List.of(UtilsGenerator.FILE_NAME, "utils-native.bal",
+            "rpc.bal", StaticFunctionGenerator.PRECOMPILED_RESOURCE,
+            StaticFunctionGenerator.PRECOMPILED_RPC_HELPERS_RESOURCE, "libs/web3-native.jar");
+
+    // Their nested classes are included as well
+    private static final List<Class<?>> GENERATOR_CLASSES = List.of(Generator.class, ClientGenerator.class,
+            DynamicFunctionGenerator.class, StaticFunctionGenerator.class, UtilsGenerator.class,
+            GenerationOptions.class, CodeGeneratorUtils.class, BallerinaUtils.class, AbiCodec.class,
+            AbiType.class, AbiEntry.class, AbiInput.class, AbiOutput.class);
+
+    private static volatile String cachedToolVersion;
+
+    @JsonProperty("toolVersion")
+    private String toolVersion;
+
+    @JsonProperty("abiHash")
+    private String abiHash;
+
+    @JsonProperty("options")
+    private Map<String, String> options;
+
+    @JsonProperty("files")
+    private List<String> files;
+
+    // Required by Jackson
+    GenerationManifest() {
+    }
+
+    public GenerationManifest(String toolVersion, String abiHash, Map<String, String> options, List<String> files) {
+        this.toolVersion = toolVersion;
+        this.abiHash = abiHash;
+        this.options = options;
+        this.files = files;
+    }
+
+    /**
+     * Returns the version of the tool, taken from the jar manifest, followed by a digest of the
+     * bundled resources and the generator classes. Snapshot and development builds keep their
+     * version while templates change, so the digest is what invalidates output generated by an
+     * older build.
+     */
+    public static String currentToolVersion() {
+        String version = cachedToolVersion;
+        if (version == null) {
+            String implementationVersion = GenerationManifest.class.getPackage().getImplementationVersion();
+            version = (implementationVersion != null ? implementationVersion : "dev") + "+" + digestTool();
+            cachedToolVersion = version;
+        }
+        return version;
+    }
+
+    private static String digestTool() {
+        SHA256.Digest digest = new SHA256.Digest();
+        ClassLoader classLoader = GenerationManifest.class.getClassLoader();
+        for (String resource : BUNDLED_RESOURCES) {
+            digestResource(digest, classLoader, resource);
+        }
+
+        Deque<Class<?>> pending = new ArrayDeque<>(GENERATOR_CLASSES);
+        while (!pending.isEmpty()) {
+            Class<?> generatorClass = pending.pop();
+            digestResource(digest, classLoader, generatorClass.getName().replace('.', '/') + ".class");
+            pending.addAll(List.of(generatorClass.getDeclaredClasses()));
+        }
+        return AbiCodec.toHex(digest.digest()).substring(0, 16);
+    }
+
+    private static void digestResource(SHA256.Digest digest, ClassLoader classLoader, String resource) {
+        digest.update(resource.getBytes(StandardCharsets.UTF_8));
+        try (InputStream inputStream = classLoader.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                // Missing resources are part of what the tool is, such as the native library of a build without it
+                digest.update((byte) 0);
+                return;
+            }
+            byte[] buffer = new byte[8192];
+            for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading bundled resource " + resource, e);
+        }
+    }
+
+    /**
+     * Hashes the bound ABI rather than the artifact file, so rebuilding a contract without changing
+     * its interface (new bytecode, source maps or timestamps) still hits the cache.
+     */
+    public static String hashAbi(List<AbiEntry> abiEntries) throws JsonProcessingException {
+        return CodeGeneratorUtils.hashSha256(MAPPER.writeValueAsBytes(abiEntries));
+    }
+
+    /**
+     * Returns true when the output directory holds a manifest equal to this one and every
+     * file it lists still exists.
+     */
+    public boolean isUpToDate(String outputDir) {
+        GenerationManifest existing = read(outputDir);
+        if (existing == null) {
+            return false;
+        }
+
+        if (!Objects.equals(toolVersion, existing.toolVersion) || !Objects.equals(abiHash, existing.abiHash)
+                || !Objects.equals(options, existing.options) || !Objects.equals(files, existing.files)) {
+            return false;
+        }
+
+        for (String file : files) {
+            if (!Files.isRegularFile(Path.of(outputDir, file))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the files listed by the manifest already in the output directory that this manifest
+     * no longer lists, such as main.bal after switching to the split layout.
+     */
+    public void removeStaleFiles(String outputDir, Reporter reporter) {
+        GenerationManifest existing = read(outputDir);
+        if (existing == null || existing.files == null) {
+            return;
+        }
+
+        for (String file : existing.files) {
+            // Only paths inside the output directory are ever recorded; anything else did not come from this tool
+            Path relativePath = Path.of(file).normalize();
+            if (files.contains(file) || relativePath.isAbsolute() || relativePath.startsWith("..")) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(Path.of(outputDir, file));
+            } catch (IOException e) {
+                reporter.error("Error removing stale file " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns true if the manifest in the output directory lists the file as generated.
+     */
+    public static boolean isGeneratedFile(String outputDir, String file) {
+        GenerationManifest existing = read(outputDir);
+        return existing != null && existing.files != null && existing.files.contains(file);
+    }
+
+    private static GenerationManifest read(String outputDir) {
+        Path manifestPath = Path.of(outputDir, FILE_NAME);
+        if (!Files.isRegularFile(manifestPath)) {
+            return null;
+        }
+
+        try {
+            return MAPPER.readValue(manifestPath.toFile(), GenerationManifest.class);
+        } catch (IOException e) {
+            // A corrupt or foreign manifest simply means a full regeneration
+            return null;
+        }
+    }
+
+    /**
+     * Writes the manifest to the output directory. Written last, so an interrupted run never leaves
+     * a manifest that describes files which were not produced.
+     */
+    public void write(String outputDir) throws IOException {
+        FileUtils.writeIfChanged(Path.of(outputDir, FILE_NAME),
+                MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(this));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Options that control a generation run.
+ */
+public class GenerationOptions {
+
+    /**
+     * How the generated module is laid out in source files.
+     */
+    public enum Layout {
+        // Everything in main.bal
+        SINGLE,
+        // Event constants, the client class and the contract function implementations in separate files
+        SPLIT
+    }
+
+    // Skip generation when the output was produced from the same ABI, tool version and options
+    private boolean cacheEnabled = true;
+
+    private Layout layout = Layout.SINGLE;
+
+    // Contract functions per source file in the split layout, or 0 to keep them in one file
+    private int shardSize;
+
+    // Names or selectors of the contract functions to generate; empty selects all of them
+    private Set<String> includedFunctions = new TreeSet<>();
+
+    // Names or selectors of the contract functions to leave out
+    private Set<String> excludedFunctions = new TreeSet<>();
+
+    private boolean eventsEnabled = true;
+
+    // Chain helpers such as newBatch, multicall and getBalance, which no contract function calls
+    private boolean rpcHelpersEnabled = true;
+
+    // Bind the utils.bal functions to the bundled Java library instead of implementing them in Ballerina
+    private boolean nativeEnabled;
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public void setLayout(Layout layout) {
+        this.layout = layout;
+    }
+
+    public int getShardSize() {
+        return shardSize;
+    }
+
+    public void setShardSize(int shardSize) {
+        this.shardSize = shardSize;
+    }
+
+    public Set<String> getIncludedFunctions() {
+        return includedFunctions;
+    }
+
+    public void setIncludedFunctions(Set<String> includedFunctions) {
+        this.includedFunctions = new TreeSet<>(includedFunctions);
+    }
+
+    public Set<String> getExcludedFunctions() {
+        return excludedFunctions;
+    }
+
+    public void setExcludedFunctions(Set<String> excludedFunctions) {
+        this.excludedFunctions = new TreeSet<>(excludedFunctions);
+    }
+
+    public boolean isEventsEnabled() {
+        return eventsEnabled;
+    }
+
+    public void setEventsEnabled(boolean eventsEnabled) {
+        this.eventsEnabled = eventsEnabled;
+    }
+
+    public boolean isRpcHelpersEnabled() {
+        return rpcHelpersEnabled;
+    }
+
+    public void setRpcHelpersEnabled(boolean rpcHelpersEnabled) {
+        this.rpcHelpersEnabled = rpcHelpersEnabled;
+    }
+
+    public boolean isNativeEnabled() {
+        return nativeEnabled;
+    }
+
+    public void setNativeEnabled(boolean nativeEnabled) {
+        this.nativeEnabled = nativeEnabled;
+    }
+
+    /**
+     * Returns the options that change the generated source, in a stable order.
+     * These are recorded in the generation manifest, so any change to them invalidates the cache.
+     */
+    public Map<String, String> describe() {
+        Map<String, String> options = new TreeMap<>();
+        options.put("layout", layout.name().toLowerCase());
+        if (layout == Layout.SPLIT) {
+            options.put("shardSize", String.valueOf(shardSize));
+        }
+        if (!includedFunctions.isEmpty()) {
+            options.put("include", String.join(",", includedFunctions));
+        }
+        if (!excludedFunctions.isEmpty()) {
+            options.put("exclude", String.join(",", excludedFunctions));
+        }
+        options.put("events", String.valueOf(eventsEnabled));
+        options.put("rpcHelpers", String.valueOf(rpcHelpersEnabled));
+        options.put("native", String.valueOf(nativeEnabled));
+        return options;
+    }
+}
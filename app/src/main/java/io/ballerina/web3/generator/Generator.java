@@ -19,17 +19,253 @@
 package io.ballerina.web3.generator;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.ballerinalang.formatter.core.FormatterException;
 import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.generator.GenerationOptions.Layout;
+import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
 import io.ballerina.web3.generator.utils.FileUtils;
+import io.ballerina.web3.generator.utils.PhaseProfiler;
+import io.ballerina.web3.generator.utils.PhaseProfiler.Phase;
+import io.ballerina.web3.generator.utils.Reporter;
 
 public class Generator {
-    public static void generate(List<AbiEntry> abiEntries, String outputDir) throws FormatterException {
-        String sourceCode = ClientGenerator.generate(abiEntries);
+    // Bundled with the tool by the build and copied next to clients generated with native implementations
+    private static final String NATIVE_LIBRARY = "libs/web3-native.jar";
 
-        FileUtils.writeToFile(outputDir + File.separator + "main.bal", sourceCode);
-        FileUtils.copyResourceToOutput("utils.bal", outputDir);
+    private static final String BALLERINA_TOML = "Ballerina.toml";
+
+    public static boolean generate(List<AbiEntry> abiEntries, String outputDir)
+            throws FormatterException, IOException {
+        return generate(abiEntries, outputDir, new GenerationOptions());
+    }
+
+    public static boolean generate(List<AbiEntry> abiEntries, String outputDir, GenerationOptions options)
+            throws FormatterException, IOException {
+        return generate(abiEntries, outputDir, options, Reporter.standard());
+    }
+
+    /**
+     * Generates the connector into the output directory.
+     *
+     * @param reporter Receives the messages of the run, such as the files written.
+     * @return false if the output was already up to date and generation was skipped.
+     */
+    @SuppressWarnings("try")
+    public static boolean generate(List<AbiEntry> abiEntries, String outputDir, GenerationOptions options,
+            Reporter reporter) throws FormatterException, IOException {
+        List<AbiEntry> selectedEntries = selectEntries(abiEntries, options);
+        List<AbiEntry> functions = ClientGenerator.entriesOfType(selectedEntries, "function");
+        boolean hasEvents = !ClientGenerator.entriesOfType(selectedEntries, "event").isEmpty();
+        List<List<AbiEntry>> shards = shard(functions, options.getShardSize());
+
+        // The filters are part of the options, so the hash covers the whole ABI
+        List<String> sourceFiles = sourceFiles(options.getLayout(), hasEvents, shards.size());
+        List<String> outputFiles = new ArrayList<>(sourceFiles);
+        outputFiles.add(UtilsGenerator.RPC_FILE_NAME);
+        outputFiles.add(UtilsGenerator.FILE_NAME);
+
+        // A Ballerina.toml written by the user is never replaced
+        boolean writeBallerinaToml = options.isNativeEnabled() && (!Files.exists(Path.of(outputDir, BALLERINA_TOML))
+                || GenerationManifest.isGeneratedFile(outputDir, BALLERINA_TOML));
+        if (options.isNativeEnabled()) {
+            outputFiles.add(NATIVE_LIBRARY);
+        }
+        if (writeBallerinaToml) {
+            outputFiles.add(BALLERINA_TOML);
+        }
+        GenerationManifest manifest = new GenerationManifest(GenerationManifest.currentToolVersion(),
+                GenerationManifest.hashAbi(abiEntries), options.describe(), outputFiles);
+
+        if (options.isCacheEnabled() && manifest.isUpToDate(outputDir)) {
+            return false;
+        }
+
+        try (FragmentCache fragmentCache = options.isCacheEnabled()
+                ? FragmentCache.load(outputDir, options.describe())
+                : FragmentCache.create(outputDir, options.describe())) {
+            // Assembly streams into the files, so the write phase only covers time not spent generating
+            try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.FILE_WRITE)) {
+                if (options.getLayout() == Layout.SPLIT) {
+                    writeSplitModule(selectedEntries, shards, hasEvents, options, fragmentCache, outputDir,
+                            reporter);
+                } else {
+                    writeSource(outputDir, "main.bal", writer -> ClientGenerator.generate(selectedEntries,
+                            fragmentCache, options.isRpcHelpersEnabled(), writer), reporter);
+                }
+
+                // rpc.bal and utils.bal keep only what the files written above use
+                try (PhaseProfiler.Scope assembly = PhaseProfiler.start(Phase.MODULE_ASSEMBLY)) {
+                    UtilsGenerator.generate(outputDir, sourceFiles, options.isNativeEnabled(), reporter);
+                }
+
+                if (options.isNativeEnabled()) {
+                    writeNativeLibrary(outputDir, writeBallerinaToml, reporter);
+                }
+            }
+
+            if (fragmentCache.getHits() > 0) {
+                reporter.info("Reused " + fragmentCache.getHits() + " of "
+                        + (fragmentCache.getHits() + fragmentCache.getMisses()) + " unchanged contract functions");
+            }
+
+            try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.FILE_WRITE)) {
+                // Files of an earlier layout or shard count would redefine the client in the same module
+                manifest.removeStaleFiles(outputDir, reporter);
+                fragmentCache.save(reporter);
+                manifest.write(outputDir);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes event constants, the client class and the contract function implementations to separate
+     * files, so no single file grows with the size of the ABI and the compiler can recompile each on
+     * its own.
+     */
+    private static void writeSplitModule(List<AbiEntry> abiEntries, List<List<AbiEntry>> shards, boolean hasEvents,
+            GenerationOptions options, FragmentCache fragmentCache, String outputDir, Reporter reporter)
+            throws FormatterException, IOException {
+        if (hasEvents) {
+            writeSource(outputDir, "events.bal", writer -> ClientGenerator.generateEvents(abiEntries, writer),
+                    reporter);
+        }
+
+        writeSource(outputDir, "client.bal",
+                writer -> ClientGenerator.generateClient(abiEntries, fragmentCache, options.isRpcHelpersEnabled(),
+                        writer), reporter);
+
+        for (int i = 0; i < shards.size(); i++) {
+            List<AbiEntry> shard = shards.get(i);
+            writeSource(outputDir, functionsFileName(i, shards.size()),
+                    writer -> ClientGenerator.generateImplementations(shard, fragmentCache, writer), reporter);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private static void writeSource(String outputDir, String fileName,
+            FileUtils.ContentWriter<FormatterException> contentWriter, Reporter reporter)
+            throws FormatterException, IOException {
+        FileUtils.writeToFile(outputDir + File.separator + fileName, writer -> {
+            try (PhaseProfiler.Scope assembly = PhaseProfiler.start(Phase.MODULE_ASSEMBLY)) {
+                contentWriter.writeTo(writer);
+            }
+        }, reporter);
+    }
+
+    /**
+     * Copies the Java library behind the utils.bal externs to the output directory and declares it
+     * as a platform dependency in Ballerina.toml, or tells the user how to declare it in theirs.
+     */
+    private static void writeNativeLibrary(String outputDir, boolean writeBallerinaToml, Reporter reporter)
+            throws IOException {
+        try (InputStream inputStream = Generator.class.getClassLoader().getResourceAsStream(NATIVE_LIBRARY)) {
+            if (inputStream == null) {
+                throw new IOException("Native library not found in the tool: " + NATIVE_LIBRARY);
+            }
+            FileUtils.writeIfChanged(Path.of(outputDir, NATIVE_LIBRARY), inputStream.readAllBytes());
+        }
+
+        String dependency = String.format("[[platform.java21.dependency]]%npath = \"%s\"%n", NATIVE_LIBRARY);
+        if (writeBallerinaToml) {
+            String packageName = packageNameOf(outputDir);
+            FileUtils.writeToFile(Path.of(outputDir, BALLERINA_TOML).toString(), String.format(
+                    "[package]%norg = \"web3\"%nname = \"%s\"%nversion = \"0.1.0\"%n%n%s", packageName,
+                    dependency), reporter);
+        } else {
+            reporter.info("Add the native library to " + Path.of(outputDir, BALLERINA_TOML) + ":\n" + dependency);
+        }
+    }
+
+    /**
+     * Derives a valid Ballerina package name from the output directory name.
+     */
+    private static String packageNameOf(String outputDir) {
+        Path fileName = Path.of(outputDir).toAbsolutePath().normalize().getFileName();
+        String name = fileName != null ? fileName.toString().toLowerCase().replaceAll("[^a-z0-9_]", "_") : "";
+        name = name.replaceAll("^[0-9_]+", "").replaceAll("_+$", "");
+        return name.isEmpty() ? "web3_client" : name;
+    }
+
+    /**
+     * Returns the ABI entries selected by the include, exclude and events options, in ABI order.
+     * Functions are matched by name or by their 4-byte selector, with or without the 0x prefix.
+     */
+    static List<AbiEntry> selectEntries(List<AbiEntry> abiEntries, GenerationOptions options) {
+        Set<String> included = options.getIncludedFunctions();
+        Set<String> excluded = options.getExcludedFunctions();
+
+        List<AbiEntry> selected = new ArrayList<>();
+        for (AbiEntry entry : abiEntries) {
+            if ("event".equals(entry.getType()) && !options.isEventsEnabled()) {
+                continue;
+            }
+            if ("function".equals(entry.getType())
+                    && ((!included.isEmpty() && !matchesAny(entry, included)) || matchesAny(entry, excluded))) {
+                continue;
+            }
+            selected.add(entry);
+        }
+        return selected;
+    }
+
+    private static boolean matchesAny(AbiEntry function, Set<String> filters) {
+        if (filters.isEmpty()) {
+            return false;
+        }
+
+        String selector = CodeGeneratorUtils.generateFunctionSelector(function);
+        for (String filter : filters) {
+            String value = filter.startsWith("0x") || filter.startsWith("0X") ? filter.substring(2) : filter;
+            if (filter.equals(function.getName()) || value.equalsIgnoreCase(selector)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the source files written for the given layout, in the order they are generated.
+     * rpc.bal and utils.bal are written after them.
+     */
+    private static List<String> sourceFiles(Layout layout, boolean hasEvents, int shardCount) {
+        List<String> files = new ArrayList<>();
+        if (layout == Layout.SPLIT) {
+            if (hasEvents) {
+                files.add("events.bal");
+            }
+            files.add("client.bal");
+            for (int i = 0; i < shardCount; i++) {
+                files.add(functionsFileName(i, shardCount));
+            }
+        } else {
+            files.add("main.bal");
+        }
+        return files;
+    }
+
+    /**
+     * Splits the contract functions into shards of at most shardSize functions, or a single shard
+     * if shardSize is 0. There are no shards without functions.
+     */
+    private static List<List<AbiEntry>> shard(List<AbiEntry> functions, int shardSize) {
+        List<List<AbiEntry>> shards = new ArrayList<>();
+        int size = shardSize > 0 ? shardSize : Math.max(functions.size(), 1);
+        for (int start = 0; start < functions.size(); start += size) {
+            shards.add(functions.subList(start, Math.min(start + size, functions.size())));
+        }
+        return shards;
+    }
+
+    private static String functionsFileName(int shardIndex, int shardCount) {
+        return shardCount == 1 ? "functions.bal" : String.format("functions_%d.bal", shardIndex + 1);
     }
 }
@@ -20,29 +20,77 @@ package io.ballerina.web3.generator;
 
 import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
 import io.ballerina.compiler.syntax.tree.NodeParser;
+import io.ballerina.web3.generator.utils.CodeGeneratorUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.ballerinalang.formatter.core.FormatterException;
+
 public class StaticFunctionGenerator {
 
+    // Written at build time by StaticMembersPrecompiler
+    public static final String PRECOMPILED_RESOURCE = "precompiled/static-members.bal";
+    public static final String PRECOMPILED_RPC_HELPERS_RESOURCE = "precompiled/rpc-helpers.bal";
+
+    private static volatile String formattedCoreMembers;
+    private static volatile String formattedRpcHelpers;
+
+    /**
+     * Generates the property declarations of the client class.
+     *
+     * @return The source of the client properties.
+     */
+    private static String generateClientProperties() {
+        StringBuilder data = new StringBuilder();
+
+        data.append("\n// The base URL of the Ethereum JSON-RPC API.\n");
+        data.append("private final string api;\n");
+
+        data.append("\n// The contract address, only accessed within a lock.\n");
+        data.append("private string address;\n");
+
+        data.append("\n// The address of the sender (used for transactions), only accessed within a lock.\n");
+        data.append("private string sender = \"\";\n");
+
+        data.append("\n// The id of the last JSON-RPC request, only accessed within a lock.\n");
+        data.append("private int requestId = 0;\n");
+
+        data.append("\n// HTTP client to send JSON-RPC requests to the Ethereum node.\n");
+        data.append("private final http:Client rpcClient;\n");
+
+        data.append("\n// Results of view calls and other reads, or () if caching is off.\n");
+        data.append("private final CallCache? callCache;\n");
+
+        return data.toString();
+    }
+
     /**
      * Generates the function for initializing the Ethereum client.
-     * It takes API and address as input parameters and initializes the client.
+     * It takes API and address as input parameters and initializes the client. The HTTP transport
+     * is set with the fields of ConnectionConfig in rpc.bal, passed as named arguments.
      * 
      * @return The generated function definition for the initialization.
      */
     private static FunctionDefinitionNode generateInitFunction() {
         String data = """
                 /// Initialize the Ethereum client.
-                public function init(string api, string address) returns error? {
+                /// # Parameters
+                /// - `api`: The URL of the Ethereum JSON-RPC API.
+                /// - `address`: The contract address.
+                /// - `config`: The HTTP transport, e.g. `maxActiveConnections = 200` or `httpVersion = http:HTTP_2_0`.
+                /// - `callCacheSize`: The maximum number of view call results cached, or 0 to cache none.
+                /// - `blockCheckInterval`: Seconds between checks for a new block, which expires cached results.
+                public isolated function init(string api, string address, *ConnectionConfig config,
+                        int callCacheSize = 0, decimal blockCheckInterval = 1) returns error? {
                     self.api = api;
                     self.address = address;
 
-                    http:ClientConfiguration clientConfig = {
-                        httpVersion: http:HTTP_1_1
-                    };
-
-                    self.rpcClient = check new(self.api, clientConfig);
+                    self.rpcClient = check new(self.api, toClientConfiguration(config));
+                    self.callCache = callCacheSize > 0 ? new CallCache(callCacheSize, blockCheckInterval) : ();
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -57,8 +105,10 @@ public class StaticFunctionGenerator {
     private static FunctionDefinitionNode generateSetContractAddressFunction() {
         String data = """
                 /// Set the contract address.
-                public function setContractAddress(string address) {
-                    self.address = address;
+                public isolated function setContractAddress(string address) {
+                    lock {
+                        self.address = address;
+                    }
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -74,8 +124,141 @@ public class StaticFunctionGenerator {
                 /// Set the sender address for transactions.
                 /// # Parameters
                 /// - `sender`: The Ethereum address to use as the sender.
-                public function setSender(string sender) {
-                    self.sender = sender;
+                public isolated function setSender(string sender) {
+                    lock {
+                        self.sender = sender;
+                    }
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that returns the contract address. The address can be changed while
+     * other strands use the client, so it is read within a lock and each call uses the address it
+     * read when it started.
+     *
+     * @return The generated function definition for getting the contract address.
+     */
+    private static FunctionDefinitionNode generateGetContractAddressFunction() {
+        String data = """
+                /// Get the contract address.
+                public isolated function getContractAddress() returns string {
+                    lock {
+                        return self.address;
+                    }
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that returns the sender address used for transactions.
+     *
+     * @return The generated function definition for getting the sender.
+     */
+    private static FunctionDefinitionNode generateGetSenderFunction() {
+        String data = """
+                /// Get the sender address for transactions.
+                public isolated function getSender() returns string {
+                    lock {
+                        return self.sender;
+                    }
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that hands out JSON-RPC request ids. The counter is incremented within
+     * a lock, so concurrent requests of one client never share an id.
+     *
+     * @return The generated function definition for the next request id.
+     */
+    private static FunctionDefinitionNode generateNextRequestIdFunction() {
+        String data = """
+                /// Get a new JSON-RPC request id, unique among the requests of this client.
+                isolated function nextRequestId() returns int {
+                    lock {
+                        self.requestId += 1;
+                        return self.requestId;
+                    }
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that returns the counters of the call cache.
+     *
+     * @return The generated function definition for getting the call cache counters.
+     */
+    private static FunctionDefinitionNode generateGetCallCacheStatsFunction() {
+        String data = """
+                /// Get the hit and miss counters of the call cache.
+                /// # Returns
+                /// - `CallCacheStats`: The counters and the number of cached results.
+                /// - `()`: If the client was created without a call cache.
+                public isolated function getCallCacheStats() returns CallCacheStats? {
+                    CallCache? callCache = self.callCache;
+                    return callCache is () ? () : callCache.getStats();
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that starts a JSON-RPC batch, which sends many requests in one HTTP
+     * request per chunk. The batch classes are written to rpc.bal.
+     *
+     * @return The generated function definition for starting a batch.
+     */
+    private static FunctionDefinitionNode generateNewBatchFunction() {
+        String data = """
+                /// Start a batch of JSON-RPC requests, such as contract calls and balance queries, sent
+                /// together in one HTTP request per chunk.
+                /// # Parameters
+                /// - `chunkSize`: The maximum number of requests sent in one HTTP request.
+                /// # Returns
+                /// - `RpcBatch`: An empty batch, whose `call` requests go to the contract address.
+                /// - `error`: Error if the chunk size is not positive.
+                public isolated function newBatch(int chunkSize = DEFAULT_BATCH_CHUNK_SIZE) returns RpcBatch|error {
+                    return new RpcBatch(self.rpcClient, self.getContractAddress(), chunkSize);
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
+
+    /**
+     * Generates the function that packs many view calls into one Multicall3 aggregate3 eth_call.
+     * The encoding and decoding of aggregate3 are in rpc.bal.
+     *
+     * @return The generated function definition for the multicall.
+     */
+    private static FunctionDefinitionNode generateMulticallFunction() {
+        String data = """
+                /// Call many view functions, of this or other contracts, in one `eth_call` through the
+                /// Multicall3 `aggregate3` function, so they all read state at the same block.
+                /// # Parameters
+                /// - `calls`: The calls, with calldata from the generated `encode` functions.
+                /// - `blockTag`: The block to read at, such as `latest` or a hex block number.
+                /// - `multicallAddress`: The Multicall3 contract, on chains where it is not at the usual address.
+                /// # Returns
+                /// - `MulticallResult[]`: The result of each call in order, for the generated `decode` functions.
+                /// - `error`: Error if the request fails or a call that does not allow failure reverts.
+                public isolated function multicall(MulticallCall[] calls, string blockTag = "latest",
+                        string multicallAddress = MULTICALL3_ADDRESS) returns MulticallResult[]|error {
+                    string callData = check encodeAggregate3(calls);
+                    json requestBody = {
+                        "jsonrpc": "2.0",
+                        "method": "eth_call",
+                        "params": [{"to": multicallAddress, "data": callData}, blockTag],
+                        "id": self.nextRequestId()
+                    };
+
+                    record { string result; } response = check self.rpcClient->post("/", requestBody);
+
+                    return decodeAggregate3(response.result);
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -93,12 +276,12 @@ public class StaticFunctionGenerator {
                 /// # Returns
                 /// - `string[]`: List of accounts.
                 /// - `error`: Error if the request fails.
-                public function getAccounts() returns string[]|error {
+                public isolated function getAccounts() returns string[]|error {
                     json requestBody = {
                         "jsonrpc": "2.0",
                         "method": "eth_accounts",
                         "params": [],
-                        "id": 1
+                        "id": self.nextRequestId()
                     };
 
                     record{string[] result;} response = check self.rpcClient->post("/", requestBody);
@@ -121,20 +304,37 @@ public class StaticFunctionGenerator {
                 /// # Parameters
                 /// - `address`: The Ethereum address.
                 /// # Returns
-                /// - `int`: Balance in Wei.
-                /// - `error`: If the request fails.
-                public function getBalance(string address) returns int|error {
-                    json requestBody = {
-                        "jsonrpc": "2.0",
-                        "method": "eth_getBalance",
-                        "params": [address, "latest"],
-                        "id": 1
-                    };
+                /// - `decimal`: Balance in Wei.
+                /// - `error`: If the request fails, or the balance has more than 34 significant digits.
+                public isolated function getBalance(string address) returns decimal|error {
+                    string result = check sendCachedRequest(self.rpcClient, self.callCache, "eth_getBalance",
+                            [address, "latest"], self.nextRequestId());
 
-                    record { string result; } response = check self.rpcClient->post("/", requestBody);
+                    return check hexToUint256(result);
+                }
+                """;
+        return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
+    }
 
-                    string sanitizedHex = response.result.substring(2);
-                    return check hexToDecimal(sanitizedHex);
+    /**
+     * Generates the function to get the balance of an Ethereum address as exact decimal digits,
+     * for balances beyond the 34 significant digits of a decimal.
+     *
+     * @return The generated function definition for getting the exact balance.
+     */
+    private static FunctionDefinitionNode generateGetBalanceStringFunction() {
+        String data = """
+                /// Get the balance of an Ethereum address as exact decimal digits.
+                /// # Parameters
+                /// - `address`: The Ethereum address.
+                /// # Returns
+                /// - `string`: Balance in Wei, exact for any uint256.
+                /// - `error`: If the request fails.
+                public isolated function getBalanceString(string address) returns string|error {
+                    string result = check sendCachedRequest(self.rpcClient, self.callCache, "eth_getBalance",
+                            [address, "latest"], self.nextRequestId());
+
+                    return check hexToUint256String(result);
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -152,12 +352,12 @@ public class StaticFunctionGenerator {
                 /// # Returns
                 /// - `int`: The block number.
                 /// - `error`: Error if the request fails.
-                public function getBlockNumber() returns int|error {
+                public isolated function getBlockNumber() returns int|error {
                     json requestBody = {
                         "jsonrpc": "2.0",
                         "method": "eth_blockNumber",
                         "params": [],
-                        "id": 1
+                        "id": self.nextRequestId()
                     };
 
                     record { string result; } response = check self.rpcClient->post("/", requestBody);
@@ -184,18 +384,11 @@ public class StaticFunctionGenerator {
                 /// # Returns
                 /// - `int`: The number of transactions sent from the address.
                 /// - `error`: Error if the request fails.
-                public function getTransactionCount(string address) returns int|error {
-                    json requestBody = {
-                        "jsonrpc": "2.0",
-                        "method": "eth_getTransactionCount",
-                        "params": [address, "latest"],
-                        "id": 1
-                    };
+                public isolated function getTransactionCount(string address) returns int|error {
+                    string result = check sendCachedRequest(self.rpcClient, self.callCache,
+                            "eth_getTransactionCount", [address, "latest"], self.nextRequestId());
 
-                    record { string result; } response = check self.rpcClient->post("/", requestBody);
-
-                    string sanitizedHex = response.result.substring(2);
-                    return check hexToDecimal(sanitizedHex);
+                    return check hexToDecimal(result);
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -209,7 +402,7 @@ public class StaticFunctionGenerator {
      */
     private static FunctionDefinitionNode generateWeiToEtherFunction() {
         String data = """
-                 public function weiToEther(decimal weiAmount) returns decimal {
+                 public isolated function weiToEther(decimal weiAmount) returns decimal {
                     decimal etherValue = weiAmount / 1e18;
                     return etherValue;
                 }
@@ -225,7 +418,7 @@ public class StaticFunctionGenerator {
      */
     private static FunctionDefinitionNode generateEthToWeiFunction() {
         String data = """
-                public function ethToWei(decimal etherValue) returns decimal {
+                public isolated function ethToWei(decimal etherValue) returns decimal {
                     decimal weiAmount = etherValue * 1e18;
                     return weiAmount;
                 }
@@ -242,20 +435,19 @@ public class StaticFunctionGenerator {
         String data = """
                 /// Get the current gas price in Wei.
                 /// # Returns
-                /// - `int`: The gas price in Wei.
+                /// - `decimal`: The gas price in Wei.
                 /// - `error`: Error if the request fails.
-                public function getGasPrice() returns int|error {
+                public isolated function getGasPrice() returns decimal|error {
                     json requestBody = {
                         "jsonrpc": "2.0",
                         "method": "eth_gasPrice",
                         "params": [],
-                        "id": 1
+                        "id": self.nextRequestId()
                     };
 
                     record { string result; } response = check self.rpcClient->post("/", requestBody);
 
-                    string sanitizedHex = response.result.substring(2);
-                    return check hexToDecimal(sanitizedHex);
+                    return check hexToUint256(response.result);
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
@@ -272,35 +464,122 @@ public class StaticFunctionGenerator {
                 /// # Returns
                 /// - `int`: The chain ID.
                 /// - `error`: Error if the request fails.
-                public function getChainId() returns int|error {
-                    json requestBody = {
-                        "jsonrpc": "2.0",
-                        "method": "eth_chainId",
-                        "params": [],
-                        "id": 1
-                    };
-
-                    record { string result; } response = check self.rpcClient->post("/", requestBody);
+                public isolated function getChainId() returns int|error {
+                    // The chain ID never changes, so it is cached for good
+                    string result = check sendCachedRequest(self.rpcClient, self.callCache, "eth_chainId", [],
+                            self.nextRequestId(), true);
 
-                    string sanitizedHex = response.result.substring(2);
-                    return check hexToDecimal(sanitizedHex);
+                    return check hexToDecimal(result);
                 }
                 """;
         return (FunctionDefinitionNode) NodeParser.parseObjectMember(data);
     }
 
+    /**
+     * Returns the formatted client properties and static functions, indented for the client class body
+     * and separated by blank lines. The text is read from the resources precompiled at build time and
+     * only generated and formatted here when they are missing, e.g. when running from an IDE.
+     *
+     * @param includeRpcHelpers Whether to add the chain helpers such as newBatch, multicall and getBalance,
+     *                          which the contract functions never call, after the members every client needs.
+     * @return The formatted source of the fixed client members.
+     */
+    public static String generateFormatted(boolean includeRpcHelpers) throws FormatterException {
+        String members = formattedCoreMembers;
+        if (members == null) {
+            members = loadPrecompiled(PRECOMPILED_RESOURCE);
+            if (members == null) {
+                members = formatCoreMembers();
+            }
+            formattedCoreMembers = members;
+        }
+
+        if (!includeRpcHelpers) {
+            return members;
+        }
+
+        String rpcHelpers = formattedRpcHelpers;
+        if (rpcHelpers == null) {
+            rpcHelpers = loadPrecompiled(PRECOMPILED_RPC_HELPERS_RESOURCE);
+            if (rpcHelpers == null) {
+                rpcHelpers = formatRpcHelpers();
+            }
+            formattedRpcHelpers = rpcHelpers;
+        }
+        return members + rpcHelpers;
+    }
+
+    /**
+     * Parses and formats the client properties and the functions every client needs.
+     *
+     * @return The formatted source of the core client members.
+     */
+    static String formatCoreMembers() throws FormatterException {
+        StringBuilder members = new StringBuilder();
+        members.append(CodeGeneratorUtils.stripLeadingNewlines(
+                CodeGeneratorUtils.formatClassMember(generateClientProperties())));
+        appendFormatted(members, generateCoreFunctions());
+        return members.toString();
+    }
+
+    /**
+     * Parses and formats the chain helper functions, each preceded by a blank line.
+     *
+     * @return The formatted source of the chain helpers.
+     */
+    static String formatRpcHelpers() throws FormatterException {
+        StringBuilder members = new StringBuilder();
+        appendFormatted(members, generateRpcHelperFunctions());
+        return members.toString();
+    }
+
+    private static void appendFormatted(StringBuilder members, List<FunctionDefinitionNode> functions)
+            throws FormatterException {
+        for (FunctionDefinitionNode function : functions) {
+            members.append("\n").append(CodeGeneratorUtils.stripLeadingNewlines(
+                    CodeGeneratorUtils.formatClassMember(function.toSourceCode())));
+        }
+    }
+
+    private static String loadPrecompiled(String resource) {
+        try (InputStream inputStream = StaticFunctionGenerator.class.getClassLoader()
+                .getResourceAsStream(resource)) {
+            return inputStream != null ? new String(inputStream.readAllBytes(), StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     /**
      * Generates all the required functions and returns them as a list.
      * 
      * @return A list of function definitions.
      */
     public static List<FunctionDefinitionNode> generate() {
+        List<FunctionDefinitionNode> functions = new ArrayList<>(generateCoreFunctions());
+        functions.addAll(generateRpcHelperFunctions());
+        return functions;
+    }
+
+    private static List<FunctionDefinitionNode> generateCoreFunctions() {
         return List.of(
                 generateInitFunction(),
                 generateSetContractAddressFunction(),
+                generateGetContractAddressFunction(),
                 generateSetSenderFunction(),
+                generateGetSenderFunction(),
+                generateNextRequestIdFunction(),
+                generateGetCallCacheStatsFunction()
+                );
+    }
+
+    private static List<FunctionDefinitionNode> generateRpcHelperFunctions() {
+        return List.of(
+                generateNewBatchFunction(),
+                generateMulticallFunction(),
                 generateGetAccountsFunction(),
                 generateGetBalanceFunction(),
+                generateGetBalanceStringFunction(),
                 generateGetBlockNumberFunction(),
                 generateGetTransactionCountFunction(),
                 generateGetGasPriceFunction(),
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs at build time (the `precompileStaticMembers` Gradle task) to parse and format the client
+ * members that never change, so generation at runtime only processes the ABI-specific part.
+ */
+public class StaticMembersPrecompiler {
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: StaticMembersPrecompiler <output-resources-dir>");
+        }
+
+        write(Path.of(args[0], StaticFunctionGenerator.PRECOMPILED_RESOURCE),
+                StaticFunctionGenerator.formatCoreMembers());
+        write(Path.of(args[0], StaticFunctionGenerator.PRECOMPILED_RPC_HELPERS_RESOURCE),
+                StaticFunctionGenerator.formatRpcHelpers());
+    }
+
+    private static void write(Path outputPath, String content) throws IOException {
+        Files.createDirectories(outputPath.getParent());
+        Files.writeString(outputPath, content, StandardCharsets.UTF_8);
+    }
+}
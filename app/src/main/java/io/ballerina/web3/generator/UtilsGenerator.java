@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.ballerina.compiler.syntax.tree.ClassDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ConstantDeclarationNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
+import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.tools.text.TextRange;
+import io.ballerina.web3.generator.utils.FileUtils;
+import io.ballerina.web3.generator.utils.Reporter;
+
+/**
+ * Writes rpc.bal and utils.bal with only the declarations that the generated module uses, directly or
+ * through other rpc.bal and utils.bal declarations, and only the imports those declarations use.
+ * Declarations are kept in their original order and with their original text, so an unpruned file is
+ * identical to the bundled resource.
+ */
+public class UtilsGenerator {
+    public static final String FILE_NAME = "utils.bal";
+
+    // The connection settings, batch, multicall and cache types of the client
+    public static final String RPC_FILE_NAME = "rpc.bal";
+
+    // The same functions, bound to the bundled Java library through @java:Method externs
+    private static final String NATIVE_RESOURCE = "utils-native.bal";
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * An import or top-level declaration of rpc.bal or utils.bal.
+     *
+     * @param name       The declared name or import prefix, or null for declarations that are always kept.
+     * @param isImport   Whether this is an import, kept only if a kept declaration of its file uses its prefix.
+     * @param separator  The text between the previous declaration and this one.
+     * @param source     The text of the declaration, including its documentation.
+     * @param references The identifiers used in the declaration.
+     */
+    private record Declaration(String name, boolean isImport, String separator, String source,
+            Set<String> references) {
+    }
+
+    private record UtilsModule(String header, List<Declaration> declarations, String trailer) {
+    }
+
+    private static final Map<String, UtilsModule> UTILS_MODULES = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the pruned rpc.bal and utils.bal to the output directory.
+     *
+     * @param outputDir   The output directory.
+     * @param sourceFiles The other generated source files of the module.
+     * @param useNative   Whether to write the externs bound to the bundled Java library.
+     * @param reporter    Receives the messages of the write.
+     */
+    public static void generate(String outputDir, List<String> sourceFiles, boolean useNative, Reporter reporter)
+            throws IOException {
+        Set<String> usedIdentifiers = new HashSet<>();
+        for (String sourceFile : sourceFiles) {
+            collectIdentifiers(Path.of(outputDir, sourceFile), usedIdentifiers);
+        }
+
+        // The two files share a module, so a declaration of either can keep one of the other
+        UtilsModule rpc = loadUtilsModule(RPC_FILE_NAME);
+        UtilsModule utils = loadUtilsModule(useNative ? NATIVE_RESOURCE : FILE_NAME);
+        Set<String> kept = reachable(List.of(rpc, utils), usedIdentifiers);
+
+        FileUtils.writeToFile(Path.of(outputDir, RPC_FILE_NAME).toString(), prune(rpc, kept), reporter);
+        FileUtils.writeToFile(Path.of(outputDir, FILE_NAME).toString(), prune(utils, kept), reporter);
+    }
+
+    /**
+     * Returns the names of the declarations that the used identifiers reach, directly or through the
+     * declarations they reach in turn.
+     */
+    private static Set<String> reachable(List<UtilsModule> modules, Set<String> usedIdentifiers) {
+        Map<String, Declaration> declarationsByName = new LinkedHashMap<>();
+        Deque<String> pending = new ArrayDeque<>(usedIdentifiers);
+        for (UtilsModule module : modules) {
+            for (Declaration declaration : module.declarations()) {
+                if (declaration.name() == null) {
+                    pending.addAll(declaration.references());
+                } else if (!declaration.isImport()) {
+                    declarationsByName.put(declaration.name(), declaration);
+                }
+            }
+        }
+
+        Set<String> kept = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            Declaration declaration = declarationsByName.get(name);
+            if (declaration != null && kept.add(name)) {
+                pending.addAll(declaration.references());
+            }
+        }
+        return kept;
+    }
+
+    private static String prune(UtilsModule module, Set<String> kept) {
+        // Prefixes used by the kept declarations of this file; imports are scoped to their file
+        Set<String> usedPrefixes = new HashSet<>();
+        for (Declaration declaration : module.declarations()) {
+            if (!declaration.isImport() && (declaration.name() == null || kept.contains(declaration.name()))) {
+                usedPrefixes.addAll(declaration.references());
+            }
+        }
+
+        StringBuilder source = new StringBuilder(module.header());
+        boolean first = true;
+        for (Declaration declaration : module.declarations()) {
+            boolean keep = declaration.isImport() ? usedPrefixes.contains(declaration.name())
+                    : declaration.name() == null || kept.contains(declaration.name());
+            if (keep) {
+                if (!first) {
+                    source.append(declaration.separator());
+                }
+                source.append(declaration.source());
+                first = false;
+            }
+        }
+        return source.append(module.trailer()).toString();
+    }
+
+    private static void collectIdentifiers(Path sourceFile, Set<String> identifiers) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(sourceFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = IDENTIFIER.matcher(line);
+                while (matcher.find()) {
+                    identifiers.add(matcher.group());
+                }
+            }
+        }
+    }
+
+    private static UtilsModule loadUtilsModule(String resource) throws IOException {
+        UtilsModule module = UTILS_MODULES.get(resource);
+        if (module == null) {
+            try (InputStream inputStream = UtilsGenerator.class.getClassLoader().getResourceAsStream(resource)) {
+                if (inputStream == null) {
+                    throw new IOException("Resource not found: " + resource);
+                }
+                module = parse(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            UTILS_MODULES.put(resource, module);
+        }
+        return module;
+    }
+
+    private static UtilsModule parse(String source) {
+        ModulePartNode modulePart = SyntaxTree.from(TextDocuments.from(source)).rootNode();
+
+        List<Node> nodes = new ArrayList<>();
+        modulePart.imports().forEach(nodes::add);
+        modulePart.members().forEach(nodes::add);
+
+        List<Declaration> declarations = new ArrayList<>();
+        int previousEnd = -1;
+        int headerEnd = source.length();
+        for (Node node : nodes) {
+            TextRange range = node.textRange();
+            if (previousEnd < 0) {
+                headerEnd = range.startOffset();
+            }
+
+            String text = source.substring(range.startOffset(), range.endOffset());
+            Set<String> references = new HashSet<>();
+            Matcher matcher = IDENTIFIER.matcher(text);
+            while (matcher.find()) {
+                references.add(matcher.group());
+            }
+
+            declarations.add(new Declaration(nameOf(node), node instanceof ImportDeclarationNode,
+                    previousEnd < 0 ? "" : source.substring(previousEnd, range.startOffset()), text, references));
+            previousEnd = range.endOffset();
+        }
+
+        return new UtilsModule(source.substring(0, headerEnd), declarations,
+                previousEnd < 0 ? "" : source.substring(previousEnd));
+    }
+
+    private static String nameOf(Node member) {
+        if (member instanceof ImportDeclarationNode importDeclaration) {
+            return importDeclaration.prefix().map(prefix -> prefix.prefix().text())
+                    .orElseGet(() -> importDeclaration.moduleName()
+                            .get(importDeclaration.moduleName().size() - 1).text());
+        }
+        if (member instanceof FunctionDefinitionNode function) {
+            return function.functionName().text();
+        }
+        if (member instanceof ConstantDeclarationNode constant) {
+            return constant.variableName().text();
+        }
+        if (member instanceof TypeDefinitionNode type) {
+            return type.typeName().text();
+        }
+        if (member instanceof ClassDefinitionNode classDefinition) {
+            return classDefinition.className().text();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+
+/**
+ * Encodes and decodes values in the Solidity contract ABI format.
+ *
+ * Values are encoded in a single pass straight into a reusable buffer: the encoded size is computed
+ * first, then heads and tails are written at their final positions, so no intermediate arrays or
+ * strings are built per parameter. Hex conversion is table driven.
+ *
+ * Java values map to ABI types as follows:
+ * integers are BigInteger, Long, Integer, Short or Byte; address is a 0x-prefixed hex string or a
+ * 20-byte array; bool is Boolean; bytes and bytesN are byte arrays or 0x-prefixed hex strings;
+ * string is String; arrays and tuples are lists. Decoding returns BigInteger, lowercase 0x-prefixed
+ * address strings, Boolean, byte arrays, String and lists.
+ *
+ * An instance reuses its buffer and is not thread-safe; the static methods are.
+ */
+public final class AbiCodec {
+    public static final int WORD_SIZE = 32;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private ByteBuffer buffer;
+
+    public AbiCodec() {
+        this(1024);
+    }
+
+    public AbiCodec(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Encodes a value of the given type. For a parameter list, pass a tuple type and a list of values.
+     *
+     * @return The encoded bytes, between position 0 and the limit. The buffer is reused by the next call.
+     * @throws IllegalArgumentException if a value does not fit its type.
+     */
+    public ByteBuffer encode(AbiType type, Object value) {
+        int size = encodedSize(type, value);
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+        }
+
+        // Padding is never written explicitly, so the reused bytes are cleared once up front
+        byte[] out = buffer.array();
+        Arrays.fill(out, 0, size, (byte) 0);
+        writeValue(out, type, value, 0);
+
+        buffer.clear();
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Encodes the parameters of a call, without the 0x prefix, as appended to a function selector.
+     *
+     * @param types  The comma-separated parameter types, such as "address,uint256".
+     * @param values The parameter values.
+     */
+    public String encodeToHex(String types, List<?> values) {
+        ByteBuffer encoded = encode(AbiType.parse("(" + types + ")"), values);
+        return toHex(encoded.array(), 0, encoded.limit());
+    }
+
+    /**
+     * Encodes the calldata of a function call: the 0x prefix, the selector and the parameters.
+     *
+     * @param signature The canonical function signature, such as "transfer(address,uint256)".
+     * @param values    The parameter values.
+     */
+    public String encodeCall(String signature, List<?> values) {
+        int open = signature.indexOf('(');
+        if (open < 0 || !signature.endsWith(")")) {
+            throw new IllegalArgumentException("Invalid function signature: " + signature);
+        }
+
+        byte[] hash = new Keccak.Digest256().digest(signature.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer encoded = encode(AbiType.parse(signature.substring(open)), values);
+
+        char[] hex = new char[2 + 2 * (4 + encoded.limit())];
+        hex[0] = '0';
+        hex[1] = 'x';
+        writeHex(hash, 0, 4, hex, 2);
+        writeHex(encoded.array(), 0, encoded.limit(), hex, 10);
+        return new String(hex);
+    }
+
+    /**
+     * Decodes a value of the given type. For return values, pass a tuple type; the result is then
+     * a list with one element per output.
+     *
+     * @throws IllegalArgumentException if the data is not a valid encoding of the type.
+     */
+    public static Object decode(AbiType type, byte[] data) {
+        return readValue(data, type, 0);
+    }
+
+    /**
+     * Decodes a value of the given type from the remaining bytes of the buffer.
+     */
+    public static Object decode(AbiType type, ByteBuffer data) {
+        if (data.hasArray()) {
+            byte[] array = data.array();
+            int offset = data.arrayOffset() + data.position();
+            return readValue(offset == 0 && array.length == data.remaining() ? array
+                    : Arrays.copyOfRange(array, offset, offset + data.remaining()), type, 0);
+        }
+
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return readValue(copy, type, 0);
+    }
+
+    /**
+     * Decodes hex-encoded data, with or without the 0x prefix, such as the result of an eth_call.
+     */
+    public static Object decodeHex(AbiType type, String hex) {
+        return decode(type, fromHex(hex));
+    }
+
+    public static String toHex(byte[] bytes) {
+        return toHex(bytes, 0, bytes.length);
+    }
+
+    public static String toHex(byte[] bytes, int offset, int length) {
+        char[] hex = new char[2 * length];
+        writeHex(bytes, offset, length, hex, 0);
+        return new String(hex);
+    }
+
+    /**
+     * Converts hex, with or without the 0x prefix, to bytes.
+     *
+     * @throws IllegalArgumentException if the string has an odd length or a non-hex character.
+     */
+    public static byte[] fromHex(String hex) {
+        int start = hasHexPrefix(hex) ? 2 : 0;
+        if ((hex.length() - start) % 2 != 0) {
+            throw new IllegalArgumentException("Invalid hex string: odd number of digits");
+        }
+
+        byte[] bytes = new byte[(hex.length() - start) / 2];
+        readHex(hex, start, hex.length(), bytes, 0);
+        return bytes;
+    }
+
+    private static boolean hasHexPrefix(String hex) {
+        return hex.length() >= 2 && hex.charAt(0) == '0' && (hex.charAt(1) == 'x' || hex.charAt(1) == 'X');
+    }
+
+    private static void writeHex(byte[] bytes, int offset, int length, char[] hex, int hexOffset) {
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            hex[hexOffset + 2 * i] = HEX_DIGITS[b >>> 4];
+            hex[hexOffset + 2 * i + 1] = HEX_DIGITS[b & 0x0f];
+        }
+    }
+
+    private static void readHex(String hex, int start, int end, byte[] out, int outOffset) {
+        for (int i = start; i < end; i += 2) {
+            out[outOffset + (i - start) / 2] = (byte) (hexValue(hex.charAt(i)) << 4 | hexValue(hex.charAt(i + 1)));
+        }
+    }
+
+    private static int hexValue(char c) {
+        int value = c < 128 ? HEX_VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid hex string: contains non-hexadecimal characters");
+        }
+        return value;
+    }
+
+    // --- Encoding ---
+
+    private static int encodedSize(AbiType type, Object value) {
+        return switch (type.getKind()) {
+            case BYTES -> WORD_SIZE + padded(byteLength(type, value));
+            case STRING -> WORD_SIZE + padded(utf8Length(asString(type, value)));
+            case ARRAY -> WORD_SIZE + sequenceSize(type, asList(type, value));
+            case FIXED_ARRAY, TUPLE -> type.isDynamic() ? sequenceSize(type, asList(type, value))
+                    : type.getHeadSize();
+            default -> WORD_SIZE;
+        };
+    }
+
+    private static int sequenceSize(AbiType sequence, List<?> values) {
+        checkLength(sequence, values);
+        int size = 0;
+        for (int i = 0; i < values.size(); i++) {
+            AbiType type = componentType(sequence, i);
+            size += type.isDynamic() ? WORD_SIZE + encodedSize(type, values.get(i)) : encodedSize(type, values.get(i));
+        }
+        return size;
+    }
+
+    /**
+     * Writes the value at the position and returns the position after it.
+     */
+    private static int writeValue(byte[] out, AbiType type, Object value, int position) {
+        switch (type.getKind()) {
+            case UINT, INT -> writeInteger(out, type, value, position);
+            case ADDRESS -> writeAddress(out, type, value, position);
+            case BOOL -> {
+                if (!(value instanceof Boolean bool)) {
+                    throw mismatch(type, value);
+                }
+                out[position + WORD_SIZE - 1] = (byte) (bool ? 1 : 0);
+            }
+            case FIXED_BYTES -> {
+                if (byteLength(type, value) != type.getSize()) {
+                    throw new IllegalArgumentException("Expected " + type.getSize() + " bytes for " + type);
+                }
+                writeBytes(out, type, value, position);
+            }
+            case BYTES -> {
+                int length = byteLength(type, value);
+                writeLength(out, length, position);
+                writeBytes(out, type, value, position + WORD_SIZE);
+                return position + WORD_SIZE + padded(length);
+            }
+            case STRING -> {
+                int end = writeUtf8(out, asString(type, value), position + WORD_SIZE);
+                int length = end - position - WORD_SIZE;
+                writeLength(out, length, position);
+                return position + WORD_SIZE + padded(length);
+            }
+            case ARRAY -> {
+                List<?> values = asList(type, value);
+                writeLength(out, values.size(), position);
+                return writeSequence(out, type, values, position + WORD_SIZE);
+            }
+            case FIXED_ARRAY, TUPLE -> {
+                return writeSequence(out, type, asList(type, value), position);
+            }
+            default -> throw new IllegalArgumentException("Unsupported ABI type: " + type);
+        }
+        return position + WORD_SIZE;
+    }
+
+    /**
+     * Writes the heads of the elements from the base position and their tails after all heads.
+     * Offsets in the heads are relative to the base position.
+     */
+    private static int writeSequence(byte[] out, AbiType sequence, List<?> values, int base) {
+        checkLength(sequence, values);
+
+        int headsSize = 0;
+        for (int i = 0; i < values.size(); i++) {
+            headsSize += componentType(sequence, i).getHeadSize();
+        }
+
+        int head = base;
+        int tail = base + headsSize;
+        for (int i = 0; i < values.size(); i++) {
+            AbiType type = componentType(sequence, i);
+            if (type.isDynamic()) {
+                writeLength(out, tail - base, head);
+                tail = writeValue(out, type, values.get(i), tail);
+            } else {
+                writeValue(out, type, values.get(i), head);
+            }
+            head += type.getHeadSize();
+        }
+        return tail;
+    }
+
+    private static void writeInteger(byte[] out, AbiType type, Object value, int position) {
+        boolean signed = type.getKind() == AbiType.Kind.INT;
+        int bits = type.getSize();
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            long number = ((Number) value).longValue();
+            // Every long fits types of 64 bits and more; smaller types need a range check
+            if ((!signed && number < 0) || (bits < 64 && !fitsLong(number, bits, signed))) {
+                throw outOfRange(type, value);
+            }
+            if (number < 0) {
+                Arrays.fill(out, position, position + WORD_SIZE - 8, (byte) 0xff);
+            }
+            for (int i = 0; i < 8; i++) {
+                out[position + WORD_SIZE - 1 - i] = (byte) (number >>> (8 * i));
+            }
+            return;
+        }
+
+        if (!(value instanceof BigInteger number)) {
+            throw mismatch(type, value);
+        }
+        if (signed ? number.bitLength() > bits - 1 : number.signum() < 0 || number.bitLength() > bits) {
+            throw outOfRange(type, value);
+        }
+
+        byte[] bytes = number.toByteArray();
+        // toByteArray adds a sign byte for positive numbers whose top bit is set
+        int skip = bytes.length > WORD_SIZE ? bytes.length - WORD_SIZE : 0;
+        if (number.signum() < 0) {
+            Arrays.fill(out, position, position + WORD_SIZE - bytes.length, (byte) 0xff);
+        }
+        System.arraycopy(bytes, skip, out, position + WORD_SIZE - (bytes.length - skip), bytes.length - skip);
+    }
+
+    private static boolean fitsLong(long number, int bits, boolean signed) {
+        return signed ? number >= -(1L << (bits - 1)) && number < (1L << (bits - 1)) : number < (1L << bits);
+    }
+
+    private static void writeAddress(byte[] out, AbiType type, Object value, int position) {
+        if (value instanceof String address) {
+            int start = hasHexPrefix(address) ? 2 : 0;
+            if (address.length() - start != 40) {
+                throw new IllegalArgumentException("Invalid address: " + address);
+            }
+            readHex(address, start, address.length(), out, position + 12);
+        } else if (value instanceof byte[] bytes && bytes.length == 20) {
+            System.arraycopy(bytes, 0, out, position + 12, 20);
+        } else {
+            throw mismatch(type, value);
+        }
+    }
+
+    private static void writeBytes(byte[] out, AbiType type, Object value, int position) {
+        if (value instanceof byte[] bytes) {
+            System.arraycopy(bytes, 0, out, position, bytes.length);
+        } else if (value instanceof String hex) {
+            readHex(hex, hasHexPrefix(hex) ? 2 : 0, hex.length(), out, position);
+        } else {
+            throw mismatch(type, value);
+        }
+    }
+
+    private static void writeLength(byte[] out, int length, int position) {
+        for (int i = 0; i < 4; i++) {
+            out[position + WORD_SIZE - 1 - i] = (byte) (length >>> (8 * i));
+        }
+    }
+
+    private static int writeUtf8(byte[] out, String value, int position) {
+        int p = position;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[p++] = (byte) c;
+            } else if (c < 0x800) {
+                out[p++] = (byte) (0xc0 | c >> 6);
+                out[p++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[p++] = (byte) (0xf0 | codePoint >> 18);
+                out[p++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                out[p++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                out[p++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced, as String.getBytes does
+                out[p++] = '?';
+            } else {
+                out[p++] = (byte) (0xe0 | c >> 12);
+                out[p++] = (byte) (0x80 | c >> 6 & 0x3f);
+                out[p++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return p;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private static int byteLength(AbiType type, Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof String hex) {
+            int digits = hex.length() - (hasHexPrefix(hex) ? 2 : 0);
+            if (digits % 2 != 0) {
+                throw new IllegalArgumentException("Invalid hex string: odd number of digits");
+            }
+            return digits / 2;
+        }
+        throw mismatch(type, value);
+    }
+
+    // --- Decoding ---
+
+    private static Object readValue(byte[] data, AbiType type, int position) {
+        switch (type.getKind()) {
+            case UINT, INT -> {
+                checkBounds(data, position, WORD_SIZE);
+                return type.getKind() == AbiType.Kind.UINT ? new BigInteger(1, data, position, WORD_SIZE)
+                        : new BigInteger(data, position, WORD_SIZE);
+            }
+            case ADDRESS -> {
+                checkBounds(data, position, WORD_SIZE);
+                return "0x" + toHex(data, position + 12, 20);
+            }
+            case BOOL -> {
+                checkBounds(data, position, WORD_SIZE);
+                return data[position + WORD_SIZE - 1] != 0;
+            }
+            case FIXED_BYTES -> {
+                checkBounds(data, position, WORD_SIZE);
+                return Arrays.copyOfRange(data, position, position + type.getSize());
+            }
+            case BYTES -> {
+                int length = readLength(data, position);
+                checkBounds(data, position + WORD_SIZE, length);
+                return Arrays.copyOfRange(data, position + WORD_SIZE, position + WORD_SIZE + length);
+            }
+            case STRING -> {
+                int length = readLength(data, position);
+                checkBounds(data, position + WORD_SIZE, length);
+                return new String(data, position + WORD_SIZE, length, StandardCharsets.UTF_8);
+            }
+            case ARRAY -> {
+                return readSequence(data, type, readLength(data, position), position + WORD_SIZE);
+            }
+            case FIXED_ARRAY -> {
+                return readSequence(data, type, type.getSize(), position);
+            }
+            case TUPLE -> {
+                return readSequence(data, type, type.getComponents().size(), position);
+            }
+            default -> throw new IllegalArgumentException("Unsupported ABI type: " + type);
+        }
+    }
+
+    private static List<Object> readSequence(byte[] data, AbiType sequence, int length, int base) {
+        // Every element takes at least one word, which bounds the length before anything is allocated
+        if (length > (data.length - base) / WORD_SIZE + 1) {
+            throw new IllegalArgumentException("Invalid ABI data: length " + length + " exceeds the data");
+        }
+
+        List<Object> values = new ArrayList<>(length);
+        int head = base;
+        for (int i = 0; i < length; i++) {
+            AbiType type = componentType(sequence, i);
+            values.add(type.isDynamic() ? readValue(data, type, base + readLength(data, head))
+                    : readValue(data, type, head));
+            head += type.getHeadSize();
+        }
+        return values;
+    }
+
+    /**
+     * Reads a length or offset word, which must fit an int.
+     */
+    private static int readLength(byte[] data, int position) {
+        checkBounds(data, position, WORD_SIZE);
+        for (int i = position; i < position + WORD_SIZE - 4; i++) {
+            if (data[i] != 0) {
+                throw new IllegalArgumentException("Invalid ABI data: length or offset out of range");
+            }
+        }
+        int length = (data[position + 28] & 0xff) << 24 | (data[position + 29] & 0xff) << 16
+                | (data[position + 30] & 0xff) << 8 | data[position + 31] & 0xff;
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid ABI data: length or offset out of range");
+        }
+        return length;
+    }
+
+    private static void checkBounds(byte[] data, int position, int length) {
+        if (position < 0 || length < 0 || position > data.length - length) {
+            throw new IllegalArgumentException("Invalid ABI data: read past the end at offset " + position);
+        }
+    }
+
+    // --- Helpers ---
+
+    private static AbiType componentType(AbiType sequence, int index) {
+        return sequence.getKind() == AbiType.Kind.TUPLE ? sequence.getComponents().get(index)
+                : sequence.getElementType();
+    }
+
+    private static void checkLength(AbiType sequence, List<?> values) {
+        int expected = switch (sequence.getKind()) {
+            case TUPLE -> sequence.getComponents().size();
+            case FIXED_ARRAY -> sequence.getSize();
+            default -> values.size();
+        };
+        if (values.size() != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " values for " + sequence + " but got "
+                    + values.size());
+        }
+    }
+
+    private static List<?> asList(AbiType type, Object value) {
+        if (value instanceof List<?> list) {
+            return list;
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        throw mismatch(type, value);
+    }
+
+    private static String asString(AbiType type, Object value) {
+        if (value instanceof String string) {
+            return string;
+        }
+        throw mismatch(type, value);
+    }
+
+    private static int padded(int length) {
+        return (length + WORD_SIZE - 1) / WORD_SIZE * WORD_SIZE;
+    }
+
+    private static IllegalArgumentException mismatch(AbiType type, Object value) {
+        return new IllegalArgumentException("Unsupported value for ABI type " + type + ": "
+                + (value == null ? "null" : value.getClass().getSimpleName()));
+    }
+
+    private static IllegalArgumentException outOfRange(AbiType type, Object value) {
+        return new IllegalArgumentException("Value out of range for ABI type " + type + ": " + value);
+    }
+}
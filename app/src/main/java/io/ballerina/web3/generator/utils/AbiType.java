@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed Solidity ABI type, such as uint256, bytes32, string, address[] or (uint256,bytes)[2].
+ * Tuple components may be followed by a name, as in (uint256 price,address maker)[], which
+ * decoders use as the key of the component. Types are immutable and cached by the text they were
+ * parsed from, so parsing the same type twice is free.
+ */
+public final class AbiType {
+
+    /**
+     * The kinds of ABI types.
+     */
+    public enum Kind {
+        UINT, INT, ADDRESS, BOOL, FIXED_BYTES, BYTES, STRING, ARRAY, FIXED_ARRAY, TUPLE
+    }
+
+    private static final Map<String, AbiType> PARSED = new ConcurrentHashMap<>();
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final String name;
+    private final Kind kind;
+    // Bits of an integer, bytes of a fixed-size byte array or length of a fixed-size array
+    private final int size;
+    private final AbiType elementType;
+    private final List<AbiType> components;
+    // Null for unnamed components
+    private final List<String> componentNames;
+    private final boolean dynamic;
+    private final int headSize;
+
+    private AbiType(String name, Kind kind, int size, AbiType elementType, List<AbiType> components) {
+        this(name, kind, size, elementType, components, null);
+    }
+
+    private AbiType(String name, Kind kind, int size, AbiType elementType, List<AbiType> components,
+            List<String> componentNames) {
+        this.name = name;
+        this.kind = kind;
+        this.size = size;
+        this.elementType = elementType;
+        this.components = components;
+        this.componentNames = componentNames;
+        this.dynamic = switch (kind) {
+            case BYTES, STRING, ARRAY -> true;
+            case FIXED_ARRAY -> elementType.dynamic;
+            case TUPLE -> components.stream().anyMatch(component -> component.dynamic);
+            default -> false;
+        };
+        this.headSize = dynamic ? AbiCodec.WORD_SIZE : switch (kind) {
+            case FIXED_ARRAY -> size * elementType.headSize;
+            case TUPLE -> components.stream().mapToInt(component -> component.headSize).sum();
+            default -> AbiCodec.WORD_SIZE;
+        };
+    }
+
+    /**
+     * Parses a canonical ABI type name, as used in function signatures.
+     *
+     * @throws IllegalArgumentException if the type is not a valid or supported ABI type.
+     */
+    public static AbiType parse(String type) {
+        AbiType parsed = PARSED.get(type);
+        if (parsed == null) {
+            parsed = parseUncached(type.strip());
+            PARSED.putIfAbsent(type, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the types of a parameter list such as "address,uint256" or "(uint256,bytes),string".
+     */
+    public static List<AbiType> parseList(String types) {
+        List<AbiType> parsed = new ArrayList<>();
+        for (String type : splitTopLevel(types)) {
+            parsed.add(parse(type));
+        }
+        return parsed;
+    }
+
+    private static AbiType parseUncached(String type) {
+        if (type.endsWith("]")) {
+            int open = type.lastIndexOf('[');
+            if (open < 0) {
+                throw new IllegalArgumentException("Unsupported ABI type: " + type);
+            }
+            AbiType elementType = parse(type.substring(0, open));
+            String length = type.substring(open + 1, type.length() - 1);
+            if (length.isEmpty()) {
+                return new AbiType(type, Kind.ARRAY, 0, elementType, null);
+            }
+            return new AbiType(type, Kind.FIXED_ARRAY, parseSize(type, length, 1, Integer.MAX_VALUE),
+                    elementType, null);
+        }
+
+        if (type.startsWith("(") && type.endsWith(")")) {
+            List<AbiType> components = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (String component : splitTopLevel(type.substring(1, type.length() - 1))) {
+                String stripped = component.strip();
+                // A name follows the last space, unless that space is inside a nested tuple
+                int space = stripped.lastIndexOf(' ');
+                if (space > 0 && IDENTIFIER.matcher(stripped.substring(space + 1)).matches()) {
+                    components.add(parse(stripped.substring(0, space)));
+                    names.add(stripped.substring(space + 1));
+                } else {
+                    components.add(parse(stripped));
+                    names.add(null);
+                }
+            }
+            return new AbiType(type, Kind.TUPLE, 0, null, List.copyOf(components),
+                    Collections.unmodifiableList(names));
+        }
+
+        switch (type) {
+            case "address":
+                return new AbiType(type, Kind.ADDRESS, 20, null, null);
+            case "bool":
+                return new AbiType(type, Kind.BOOL, 0, null, null);
+            case "string":
+                return new AbiType(type, Kind.STRING, 0, null, null);
+            case "bytes":
+                return new AbiType(type, Kind.BYTES, 0, null, null);
+            case "function":
+                // An address followed by a selector
+                return new AbiType(type, Kind.FIXED_BYTES, 24, null, null);
+            case "uint":
+                return parse("uint256");
+            case "int":
+                return parse("int256");
+            default:
+                break;
+        }
+
+        if (type.startsWith("uint")) {
+            return new AbiType(type, Kind.UINT, parseBits(type, type.substring(4)), null, null);
+        }
+        if (type.startsWith("int")) {
+            return new AbiType(type, Kind.INT, parseBits(type, type.substring(3)), null, null);
+        }
+        if (type.startsWith("bytes")) {
+            return new AbiType(type, Kind.FIXED_BYTES, parseSize(type, type.substring(5), 1, 32), null, null);
+        }
+        throw new IllegalArgumentException("Unsupported ABI type: " + type);
+    }
+
+    private static int parseBits(String type, String bits) {
+        int parsed = parseSize(type, bits, 8, 256);
+        if (parsed % 8 != 0) {
+            throw new IllegalArgumentException("Unsupported ABI type: " + type);
+        }
+        return parsed;
+    }
+
+    private static int parseSize(String type, String size, int min, int max) {
+        try {
+            int parsed = Integer.parseInt(size);
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Unsupported ABI type: " + type);
+    }
+
+    private static List<String> splitTopLevel(String types) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < types.length(); i++) {
+            char c = types.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(types.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (start < types.length() || !parts.isEmpty()) {
+            parts.add(types.substring(start));
+        }
+        return parts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the bits of an integer, the bytes of a fixed-size byte array or the length of a
+     * fixed-size array.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public AbiType getElementType() {
+        return elementType;
+    }
+
+    public List<AbiType> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the names of the components of a tuple, with null for unnamed components.
+     */
+    public List<String> getComponentNames() {
+        return componentNames;
+    }
+
+    /**
+     * Returns true if values of this type are encoded in the tail, behind an offset.
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * Returns the bytes a value of this type takes in the head of the enclosing tuple.
+     */
+    public int getHeadSize() {
+        return headSize;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -64,4 +64,14 @@ public class BallerinaUtils {
         return sanitizeIdentifier(parameterName, "_param");
 
     }
+
+    /**
+     * Sanitizes the name of a record field for a return value or a tuple component.
+     */
+    public static String sanitizeFieldName(String fieldName, int index) {
+        if (fieldName == null || fieldName.isEmpty()) {
+            return "value" + index;
+        }
+        return sanitizeIdentifier(fieldName, "_field");
+    }
 }
@@ -19,23 +19,66 @@
 package io.ballerina.web3.generator.utils;
 
 import java.nio.charset.StandardCharsets;
+import org.ballerinalang.formatter.core.Formatter;
+import org.ballerinalang.formatter.core.FormatterException;
 import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.bouncycastle.jcajce.provider.digest.SHA256;
 
 import io.ballerina.web3.abi.AbiEntry;
+import io.ballerina.web3.generator.utils.PhaseProfiler.Phase;
 
 public class CodeGeneratorUtils {
+    private static final String MEMBER_WRAPPER_START = "client class Web3 {\n";
+    private static final String MEMBER_WRAPPER_END = "\n}\n";
+
+    @SuppressWarnings("try")
     public static String hashKeccak256(String str) {
-        Keccak.Digest256 digest = new Keccak.Digest256();
-        byte[] hash = digest.digest(str.getBytes(StandardCharsets.UTF_8));
-        return bytesToHex(hash);
+        try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.SELECTOR_HASHING)) {
+            Keccak.Digest256 digest = new Keccak.Digest256();
+            byte[] hash = digest.digest(str.getBytes(StandardCharsets.UTF_8));
+            return AbiCodec.toHex(hash);
+        }
+    }
+
+    public static String hashSha256(byte[] data) {
+        SHA256.Digest digest = new SHA256.Digest();
+        return AbiCodec.toHex(digest.digest(data));
+    }
+
+    /**
+     * Formats a single class member on its own, exactly as it would be formatted inside the client
+     * class. The result is indented for the class body and ends with a newline.
+     */
+    @SuppressWarnings("try")
+    public static String formatClassMember(String memberSource) throws FormatterException {
+        String formatted;
+        try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.FORMATTING)) {
+            formatted = Formatter.format(MEMBER_WRAPPER_START + memberSource + MEMBER_WRAPPER_END);
+        }
+        int bodyStart = formatted.indexOf('\n') + 1;
+        int bodyEnd = formatted.lastIndexOf('}');
+        return formatted.substring(bodyStart, bodyEnd);
+    }
+
+    /**
+     * Formats a single module-level declaration on its own. The result ends with a newline.
+     */
+    @SuppressWarnings("try")
+    public static String formatModuleMember(String memberSource) throws FormatterException {
+        try (PhaseProfiler.Scope phase = PhaseProfiler.start(Phase.FORMATTING)) {
+            return Formatter.format(memberSource);
+        }
     }
 
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            hexString.append(String.format("%02x", b));
+    /**
+     * Removes the blank lines the formatter keeps at the start of a member.
+     */
+    public static String stripLeadingNewlines(String source) {
+        int start = 0;
+        while (start < source.length() && source.charAt(start) == '\n') {
+            start++;
         }
-        return hexString.toString();
+        return source.substring(start);
     }
 
     public static String generateFunctionSelector(AbiEntry abi) {
@@ -45,7 +88,7 @@ public class CodeGeneratorUtils {
             if (i > 0) {
                 sig.append(",");
             }
-            sig.append(abi.getInputs().get(i).getType());
+            sig.append(abi.getInputs().get(i).getCanonicalType());
         }
 
         sig.append(")");
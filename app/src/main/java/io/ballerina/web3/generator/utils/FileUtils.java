@@ -18,57 +18,165 @@
 
 package io.ballerina.web3.generator.utils;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class FileUtils {
+    private static final String TEMP_SUFFIX = ".tmp";
+
     /**
-     * Writes content to a file at the given path.
-     * If the file exists, it will be overwritten.
+     * Produces file content by writing it to a writer.
      */
-    public static void writeToFile(String path, String content) {
-        try {
-            Path filePath = Path.of(path);
+    @FunctionalInterface
+    public interface ContentWriter<E extends Exception> {
+        void writeTo(Writer writer) throws IOException, E;
+    }
 
-            // Ensure parent directories exist
-            Files.createDirectories(filePath.getParent());
+    /**
+     * Writes content to a file at the given path.
+     * If the file exists with the same content, it is left untouched.
+     */
+    public static void writeToFile(String path, String content, Reporter reporter) throws IOException {
+        reportWrite(path, writeIfChanged(Path.of(path), content.getBytes(StandardCharsets.UTF_8)), reporter);
+    }
 
-            // Write content to the file (overwrite if exists)
-            Files.writeString(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    /**
+     * Streams content to a file at the given path through a buffered writer, so the content is
+     * never held in memory as a whole. The content goes to a temporary file next to the target,
+     * which replaces the target only if the content differs.
+     */
+    public static <E extends Exception> void writeToFile(String path, ContentWriter<E> contentWriter,
+            Reporter reporter) throws IOException, E {
+        reportWrite(path, writeIfChanged(Path.of(path), contentWriter), reporter);
+    }
 
-            System.out.println("Successfully wrote to file: " + path);
-        } catch (IOException e) {
-            System.err.println("Error writing to file: " + e.getMessage());
-        }
+    private static void reportWrite(String path, boolean written, Reporter reporter) {
+        reporter.info(written ? "Successfully wrote to file: " + path : "File is unchanged: " + path);
     }
 
-        public static void copyResourceToOutput(String resourcePath, String outputDir) {
+    /**
+     * Copies a resource bundled with the tool to the same relative path in the output directory.
+     * A resource missing from the tool is an error, as the output would not compile without it.
+     */
+    public static void copyResourceToOutput(String resourcePath, String outputDir, Reporter reporter)
+            throws IOException {
         try (InputStream inputStream = FileUtils.class.getClassLoader().getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
-                System.err.println("Resource not found: " + resourcePath);
-                return;
+                throw new IOException("Resource not found in the tool: " + resourcePath);
             }
 
             Path outputPath = Paths.get(outputDir, resourcePath);
-            Files.createDirectories(outputPath.getParent());
-
-            try (OutputStream outputStream = new FileOutputStream(outputPath.toFile())) {
-                byte[] buffer = new byte[1024];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
+            if (writeIfChanged(outputPath, inputStream.readAllBytes())) {
+                reporter.info("Copied resource: " + resourcePath + " → " + outputPath);
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the file with the given content, unless it already has exactly that
+     * content. Unchanged files keep their modification time, so downstream builds are not triggered.
+     *
+     * @return true if the file was written.
+     */
+    public static boolean writeIfChanged(Path filePath, byte[] content) throws IOException {
+        if (Files.isRegularFile(filePath) && Files.size(filePath) == content.length
+                && Arrays.equals(Files.readAllBytes(filePath), content)) {
+            return false;
+        }
+
+        Files.createDirectories(filePath.toAbsolutePath().getParent());
+
+        Path tempPath = createTempFile(filePath);
+        try {
+            Files.write(tempPath, content);
+            moveAtomically(tempPath, filePath);
+            return true;
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Streams content to a temporary file next to the target, which atomically replaces the target
+     * only if the content differs.
+     *
+     * @return true if the file was written.
+     */
+    public static <E extends Exception> boolean writeIfChanged(Path filePath, ContentWriter<E> contentWriter)
+            throws IOException, E {
+        Files.createDirectories(filePath.toAbsolutePath().getParent());
+
+        Path tempPath = createTempFile(filePath);
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                contentWriter.writeTo(writer);
+            }
+            return replaceIfChanged(tempPath, filePath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    /**
+     * Moves the temporary file over the target if their contents differ.
+     *
+     * @return true if the target was replaced.
+     */
+    private static boolean replaceIfChanged(Path tempPath, Path filePath) throws IOException {
+        if (Files.isRegularFile(filePath) && Files.mismatch(tempPath, filePath) == -1) {
+            return false;
+        }
+        moveAtomically(tempPath, filePath);
+        return true;
+    }
+
+    /**
+     * Creates an empty temporary file in the target directory, so the rename never crosses file systems.
+     * The rename keeps the temporary file's permissions, so it takes those of the file it replaces, or
+     * the umask default for a new file. Files.createTempFile would make every written file owner-only.
+     */
+    private static Path createTempFile(Path filePath) throws IOException {
+        Path absolutePath = filePath.toAbsolutePath();
+        Path tempPath;
+        while (true) {
+            tempPath = absolutePath.resolveSibling("." + absolutePath.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + TEMP_SUFFIX);
+            try {
+                Files.createFile(tempPath);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Another writer picked the same name; try the next one
             }
+        }
+
+        if (Files.isRegularFile(absolutePath)
+                && Files.getFileAttributeView(absolutePath, PosixFileAttributeView.class) != null) {
+            try {
+                Files.setPosixFilePermissions(tempPath, Files.getPosixFilePermissions(absolutePath));
+            } catch (IOException e) {
+                Files.deleteIfExists(tempPath);
+                throw e;
+            }
+        }
+        return tempPath;
+    }
 
-            System.out.println("Copied resource: " + resourcePath + " → " + outputPath);
-        } catch (IOException e) {
-            System.err.println("Error copying resource: " + e.getMessage());
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records wall time, CPU time and allocated bytes for each phase of generation when profiling is on.
+ *
+ * Phases nest: while a nested phase runs on a thread, the enclosing phase is paused, so every
+ * nanosecond and byte is attributed to exactly one phase. Times are summed over all threads, so a
+ * phase that runs on the fork-join pool can report more time than the run's wall time.
+ * When profiling is off, {@link #start(Phase)} returns a shared no-op scope.
+ */
+public final class PhaseProfiler {
+
+    /**
+     * The phases of a generation run.
+     */
+    public enum Phase {
+        ARTIFACT_READ("artifactRead"),
+        ABI_BIND("abiBind"),
+        STATIC_MEMBERS("staticMemberParse"),
+        DYNAMIC_FUNCTIONS("dynamicFunctionGeneration"),
+        SELECTOR_HASHING("selectorHashing"),
+        MODULE_ASSEMBLY("moduleAssembly"),
+        FORMATTING("formatting"),
+        FILE_WRITE("fileWrite");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    private static class Totals {
+        final LongAdder count = new LongAdder();
+        final LongAdder wallNanos = new LongAdder();
+        final LongAdder cpuNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+    }
+
+    /**
+     * An active phase on the current thread; closing it ends the phase.
+     */
+    public static class Scope implements AutoCloseable {
+        private final Totals totals;
+        private long wallStart;
+        private long cpuStart;
+        private long allocatedStart;
+
+        private Scope(Totals totals) {
+            this.totals = totals;
+        }
+
+        private void resume() {
+            wallStart = System.nanoTime();
+            cpuStart = THREADS.getCurrentThreadCpuTime();
+            allocatedStart = currentThreadAllocatedBytes();
+        }
+
+        private void pause() {
+            totals.wallNanos.add(System.nanoTime() - wallStart);
+            totals.cpuNanos.add(THREADS.getCurrentThreadCpuTime() - cpuStart);
+            totals.allocatedBytes.add(currentThreadAllocatedBytes() - allocatedStart);
+        }
+
+        @Override
+        public void close() {
+            pause();
+            totals.count.increment();
+
+            Deque<Scope> active = ACTIVE.get();
+            active.pop();
+            Scope parent = active.peek();
+            if (parent != null) {
+                parent.resume();
+            }
+        }
+    }
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final Map<Phase, Totals> TOTALS = new EnumMap<>(Phase.class);
+
+    private static final ThreadLocal<Deque<Scope>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Scope NO_OP = new Scope(null) {
+        @Override
+        public void close() {
+        }
+    };
+
+    private static volatile boolean enabled;
+
+    static {
+        for (Phase phase : Phase.values()) {
+            TOTALS.put(phase, new Totals());
+        }
+    }
+
+    private PhaseProfiler() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears the totals, so that a long-running process can profile each generation on its own.
+     */
+    public static void reset() {
+        for (Totals totals : TOTALS.values()) {
+            totals.count.reset();
+            totals.wallNanos.reset();
+            totals.cpuNanos.reset();
+            totals.allocatedBytes.reset();
+        }
+    }
+
+    /**
+     * Starts a phase on the current thread, ended by closing the returned scope. The scope is only
+     * ever closed by a try-with-resources statement, so callers suppress the "try" lint warning that
+     * the resource is not referenced in the body.
+     */
+    public static Scope start(Phase phase) {
+        if (!enabled) {
+            return NO_OP;
+        }
+
+        Deque<Scope> active = ACTIVE.get();
+        Scope parent = active.peek();
+        if (parent != null) {
+            parent.pause();
+        }
+
+        Scope scope = new Scope(TOTALS.get(phase));
+        active.push(scope);
+        scope.resume();
+        return scope;
+    }
+
+    /**
+     * Returns the report as JSON.
+     *
+     * @param totalWallNanos The wall time of the whole run.
+     */
+    public static String toJson(long totalWallNanos) {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"wallMillis\": ").append(toMillis(totalWallNanos)).append(",\n");
+        json.append("  \"phases\": {\n");
+
+        Phase[] phases = Phase.values();
+        for (int i = 0; i < phases.length; i++) {
+            Totals totals = TOTALS.get(phases[i]);
+            json.append("    \"").append(phases[i].key).append("\": {")
+                    .append("\"count\": ").append(totals.count.sum())
+                    .append(", \"wallMillis\": ").append(toMillis(totals.wallNanos.sum()))
+                    .append(", \"cpuMillis\": ").append(toMillis(totals.cpuNanos.sum()))
+                    .append(", \"allocatedBytes\": ").append(totals.allocatedBytes.sum())
+                    .append(i < phases.length - 1 ? "},\n" : "}\n");
+        }
+
+        json.append("  }\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Writes the JSON report to the given file.
+     */
+    public static void writeReport(Path reportPath, long totalWallNanos) throws IOException {
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.writeString(reportPath, toJson(totalWallNanos), StandardCharsets.UTF_8);
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import java.io.PrintStream;
+
+/**
+ * Receives the messages of a generation run. The CLI passes its own streams, so a daemon client
+ * sees the messages of its own request and nothing of the others.
+ */
+public final class Reporter {
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public Reporter(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Returns a reporter that writes to the standard streams of the process.
+     */
+    public static Reporter standard() {
+        return new Reporter(System.out, System.err);
+    }
+
+    public void info(String message) {
+        out.println(message);
+    }
+
+    public void error(String message) {
+        err.println(message);
+    }
+}
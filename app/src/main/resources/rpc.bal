@@ -0,0 +1,489 @@
+
+// Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+import ballerina/http;
+import ballerina/time;
+
+# The number of requests sent in one HTTP request by default. Nodes and providers cap the size of
+# a JSON-RPC batch, commonly between 100 and 1,000 requests, and reject a larger batch as a whole.
+public const int DEFAULT_BATCH_CHUNK_SIZE = 100;
+
+# The HTTP transport of a client. The defaults keep up to 100 connections to the node open and reuse
+# them across requests, so many concurrent calls neither open a socket each nor run out of sockets.
+#
+# + httpVersion - The HTTP version. `http:HTTP_2_0` multiplexes concurrent requests over few
+# connections, on nodes that support it; others are talked to in HTTP/1.1 after the upgrade fails
+# + http2PriorKnowledge - Whether to start HTTP/2 without an upgrade, for nodes known to support it
+# + maxActiveConnections - The maximum number of connections to the node, or -1 for no limit
+# + maxIdleConnections - The maximum number of idle connections kept open for reuse
+# + waitTime - The time in seconds a request waits for a connection when all of them are in use
+# + maxActiveStreamsPerConnection - The maximum number of concurrent requests on an HTTP/2 connection
+# + keepAlive - Whether HTTP/1.1 connections are kept open after a response
+# + timeout - The time in seconds to wait for a response
+# + compression - Whether to accept gzip and deflate compressed responses, which makes large
+# results such as those of `eth_getLogs` several times smaller on the wire
+public type ConnectionConfig record {|
+    http:HttpVersion httpVersion = http:HTTP_1_1;
+    boolean http2PriorKnowledge = false;
+    int maxActiveConnections = 100;
+    int maxIdleConnections = 100;
+    decimal waitTime = 30;
+    int maxActiveStreamsPerConnection = 100;
+    boolean keepAlive = true;
+    decimal timeout = 60;
+    boolean compression = true;
+|};
+
+# Returns the configuration of the HTTP client of a connection.
+#
+# + config - The connection settings
+# + return - The HTTP client configuration
+isolated function toClientConfiguration(ConnectionConfig config) returns http:ClientConfiguration {
+    return {
+        httpVersion: config.httpVersion,
+        http1Settings: {keepAlive: config.keepAlive ? http:KEEPALIVE_ALWAYS : http:KEEPALIVE_NEVER},
+        http2Settings: {http2PriorKnowledge: config.http2PriorKnowledge},
+        timeout: config.timeout,
+        poolConfig: {
+            maxActiveConnections: config.maxActiveConnections,
+            maxIdleConnections: config.maxIdleConnections,
+            waitTime: config.waitTime,
+            maxActiveStreamsPerConnection: config.maxActiveStreamsPerConnection
+        },
+        // Sets Accept-Encoding on requests; responses are decompressed by the client
+        compression: config.compression ? http:COMPRESSION_ALWAYS : http:COMPRESSION_NEVER
+    };
+}
+
+# The address of the Multicall3 contract, which is deployed at the same address on Ethereum and most
+# other chains.
+public const string MULTICALL3_ADDRESS = "0xcA11bde05977b3631167028862bE2a173976CA11";
+
+# The selector of Multicall3 `aggregate3((address,bool,bytes)[])`.
+const string AGGREGATE3_SELECTOR = "0x82ad56cb";
+
+# The details of an error returned by the node for a single request of a batch.
+#
+# + id - The id of the request
+# + code - The JSON-RPC error code
+public type RpcErrorDetail record {|
+    int id;
+    int code;
+|};
+
+# An error returned by the node for a single request of a batch.
+public type RpcError distinct error<RpcErrorDetail>;
+
+# A response of a JSON-RPC batch, which holds a result or an error and the id of its request.
+type RpcResponse record {
+    json id = ();
+    json result?;
+    record {int code; string message;} 'error?;
+};
+
+# Collects JSON-RPC requests and sends them as JSON-RPC batches, one HTTP request per chunk, in place
+# of one HTTP request per call. Each request gets an id that is unique within the batch and is used
+# to look up its result once the batch is sent.
+public class RpcBatch {
+    private final http:Client rpcClient;
+    private final string address;
+    private final int chunkSize;
+    private final json[] requests = [];
+
+    # Creates an empty batch.
+    #
+    # + rpcClient - The HTTP client of the node
+    # + address - The contract address that `call` requests are sent to
+    # + chunkSize - The maximum number of requests sent in one HTTP request
+    # + return - An error if the chunk size is not positive
+    public isolated function init(http:Client rpcClient, string address,
+            int chunkSize = DEFAULT_BATCH_CHUNK_SIZE) returns error? {
+        if chunkSize < 1 {
+            return error(string `Batch chunk size must be positive: ${chunkSize}`);
+        }
+        self.rpcClient = rpcClient;
+        self.address = address;
+        self.chunkSize = chunkSize;
+    }
+
+    # Adds a request for any JSON-RPC method.
+    #
+    # + method - The method, such as `eth_getCode`
+    # + params - The parameters of the method
+    # + return - The id of the request
+    public isolated function add(string method, json[] params) returns int {
+        int id = self.requests.length() + 1;
+        self.requests.push({"jsonrpc": "2.0", "method": method, "params": params, "id": id});
+        return id;
+    }
+
+    # Adds a read-only contract call (`eth_call`) at the latest block. Its result is read with
+    # `RpcBatchResults.getDecoded` and the ABI types of the function outputs.
+    #
+    # + callData - The 0x-prefixed function selector and encoded parameters
+    # + to - The contract to call, if not the contract of the client
+    # + return - The id of the request
+    public isolated function call(string callData, string? to = ()) returns int {
+        return self.add("eth_call", [{"to": to ?: self.address, "data": callData}, "latest"]);
+    }
+
+    # Adds a request for the balance of an address, read with `RpcBatchResults.getDecimal`.
+    #
+    # + address - The Ethereum address
+    # + return - The id of the request
+    public isolated function getBalance(string address) returns int {
+        return self.add("eth_getBalance", [address, "latest"]);
+    }
+
+    # Adds a request for the latest block number, read with `RpcBatchResults.getInt`.
+    #
+    # + return - The id of the request
+    public isolated function getBlockNumber() returns int {
+        return self.add("eth_blockNumber", []);
+    }
+
+    # Adds a request for the number of transactions sent from an address, read with `RpcBatchResults.getInt`.
+    #
+    # + address - The Ethereum address
+    # + return - The id of the request
+    public isolated function getTransactionCount(string address) returns int {
+        return self.add("eth_getTransactionCount", [address, "latest"]);
+    }
+
+    # Adds a request for the gas price, read with `RpcBatchResults.getDecimal`.
+    #
+    # + return - The id of the request
+    public isolated function getGasPrice() returns int {
+        return self.add("eth_gasPrice", []);
+    }
+
+    # Returns the number of requests in the batch.
+    #
+    # + return - The number of requests
+    public isolated function size() returns int {
+        return self.requests.length();
+    }
+
+    # Sends the requests, `chunkSize` at a time, and matches the responses to their requests by id,
+    # in whatever order the node returns them. The requests are kept, so the batch can be sent again.
+    #
+    # + return - The responses, or an error if a chunk could not be sent or was rejected as a whole
+    public isolated function send() returns RpcBatchResults|error {
+        RpcResponse?[] responses = [];
+        responses.setLength(self.requests.length());
+
+        int total = self.requests.length();
+        int start = 0;
+        while start < total {
+            json[] chunk = self.requests.slice(start, int:min(start + self.chunkSize, total));
+            start += chunk.length();
+            json payload = check self.rpcClient->post("/", chunk);
+
+            // A node rejecting the whole batch answers with a single error object
+            if payload !is json[] {
+                RpcResponse response = check payload.cloneWithType();
+                string? message = response?.'error?.message;
+                return error(message ?: "Unexpected response to a batch: " + payload.toJsonString());
+            }
+
+            foreach json item in payload {
+                RpcResponse response = check item.cloneWithType();
+                int|error id = response.id.ensureType();
+                if id is error || id < 1 || id > total {
+                    return error("Response with an unknown request id: " + item.toJsonString());
+                }
+                responses[id - 1] = response;
+            }
+        }
+        return new RpcBatchResults(responses);
+    }
+}
+
+# The responses of a sent batch, looked up by the ids of their requests.
+public class RpcBatchResults {
+    private final readonly & RpcResponse?[] responses;
+
+    isolated function init(RpcResponse?[] responses) {
+        self.responses = responses.cloneReadOnly();
+    }
+
+    # Returns the result of a request as the node returned it.
+    #
+    # + id - The id of the request
+    # + return - The result, an `RpcError` if the node returned an error for the request, or an error
+    # if the node returned no response for it
+    public isolated function getResult(int id) returns json|error {
+        RpcResponse? response = id >= 1 && id <= self.responses.length() ? self.responses[id - 1] : ();
+        if response is () {
+            return error(string `No response for request ${id}`);
+        }
+
+        record {int code; string message;}? rpcError = response?.'error;
+        if rpcError !is () {
+            return error RpcError(rpcError.message, id = id, code = rpcError.code);
+        }
+        return response?.result;
+    }
+
+    # Returns a hex quantity result, such as a block number or a transaction count, as an int.
+    #
+    # + id - The id of the request
+    # + return - The value, or an error if the request failed or its result is not a hex quantity
+    public isolated function getInt(int id) returns int|error {
+        return hexToDecimal(check self.getHexResult(id));
+    }
+
+    # Returns a hex quantity result of up to 256 bits, such as a balance in Wei, as a decimal.
+    #
+    # + id - The id of the request
+    # + return - The value, or an error if the request failed, its result is not a hex quantity or it
+    # has more significant digits than a decimal holds
+    public isolated function getDecimal(int id) returns decimal|error {
+        return hexToUint256(check self.getHexResult(id));
+    }
+
+    # Returns a hex quantity result of up to 256 bits, or a single uint256 returned by a contract call,
+    # as its exact decimal digits.
+    #
+    # + id - The id of the request
+    # + return - The digits, or an error if the request failed or its result is not a hex quantity
+    public isolated function getUint256String(int id) returns string|error {
+        return hexToUint256String(check self.getHexResult(id));
+    }
+
+    # Decodes the result of a contract call.
+    #
+    # + id - The id of the `call` request
+    # + types - The ABI types of the function outputs, such as `uint256` or `(uint256,address)[]`
+    # + return - The decoded values, as returned by `decodeParameters`, or an error if the request failed
+    public isolated function getDecoded(int id, string[] types) returns anydata[]|error {
+        return decodeParameters(types, check self.getHexResult(id));
+    }
+
+    isolated function getHexResult(int id) returns string|error {
+        json result = check self.getResult(id);
+        return result.ensureType();
+    }
+}
+
+# A contract call packed into a multicall.
+#
+# + target - The contract to call
+# + callData - The 0x-prefixed calldata, such as the result of a generated `encode` function
+# + allowFailure - Whether the other calls go on if this one reverts; if not, the whole multicall fails
+public type MulticallCall record {|
+    string target;
+    string callData;
+    boolean allowFailure = true;
+|};
+
+# The result of a contract call packed into a multicall.
+#
+# + success - Whether the call succeeded
+# + returnData - The 0x-prefixed return data, to decode with the generated `decode` function of the
+# called function, or the revert data of a failed call
+public type MulticallResult record {|
+    boolean success;
+    string returnData;
+|};
+
+# Encodes the calldata of a Multicall3 `aggregate3` call, which makes the calls one after another
+# within a single `eth_call`, so they all read the same block.
+#
+# + calls - The calls
+# + return - The 0x-prefixed calldata, or an error if a target or calldata is not valid hex
+public isolated function encodeAggregate3(MulticallCall[] calls) returns string|error {
+    anydata[] packedCalls = from MulticallCall call in calls
+        select [call.target, call.allowFailure, call.callData];
+    return AGGREGATE3_SELECTOR + check encodeParameters(["(address,bool,bytes)[]"], [packedCalls]);
+}
+
+# Decodes the return data of a Multicall3 `aggregate3` call.
+#
+# + returnData - The hex-encoded return data
+# + return - The result of each call, in the order of the calls, or an error if the data is not valid
+public isolated function decodeAggregate3(string returnData) returns MulticallResult[]|error {
+    anydata[] decoded = check decodeParameters(["(bool success,bytes returnData)[]"], returnData);
+    record {|boolean success; byte[] returnData;|}[] results = check decoded[0].cloneWithType();
+    return from var result in results
+        select {success: result.success, returnData: "0x" + result.returnData.toBase16()};
+}
+
+# A cached JSON-RPC result.
+#
+# + key - The key of the entry, which identifies the entry to remove when it is evicted
+# + result - The result
+# + block - The latest block number when the result was read, or () for a result that never changes
+type CacheEntry record {|
+    string key;
+    string result;
+    int? block;
+|};
+
+# The counters of a call cache.
+#
+# + hits - The number of requests answered from the cache
+# + misses - The number of requests sent to the node
+# + size - The number of cached results
+public type CallCacheStats record {|
+    int hits;
+    int misses;
+    int size;
+|};
+
+# A least recently used cache of JSON-RPC results, such as those of view calls, keyed by method and
+# parameters, which include the target, the calldata and the block tag. Results read at the latest
+# block are tagged with the block number and are only returned while it is still the latest block;
+# results that never change, such as those of pure functions and the chain ID, are kept until evicted.
+public isolated class CallCache {
+    private final int capacity;
+    private final decimal blockCheckInterval;
+
+    // Ballerina maps keep insertion order, so reinserting an entry on every hit keeps the map ordered
+    // from the least to the most recently used entry, and the first entry is the one to evict
+    private final map<CacheEntry> entries = {};
+
+    private int hits = 0;
+    private int misses = 0;
+    private int latestBlock = -1;
+    private decimal blockCheckedAt = 0;
+
+    // Block number checks count down from -1, so their ids never collide with the client's own requests
+    private int blockRequestId = 0;
+
+    # Creates an empty cache.
+    #
+    # + capacity - The maximum number of cached results
+    # + blockCheckInterval - The time in seconds between checks of the latest block number; results
+    # at the latest block may be returned for up to this long after a new block
+    public isolated function init(int capacity, decimal blockCheckInterval = 1) {
+        self.capacity = capacity;
+        self.blockCheckInterval = blockCheckInterval;
+    }
+
+    # Returns a cached result, and counts the lookup as a hit or a miss.
+    #
+    # + key - The key
+    # + block - The latest block number, or () for a result that never changes
+    # + return - The result, or () if it is not cached or was read at an earlier block
+    isolated function get(string key, int? block) returns string? {
+        lock {
+            CacheEntry? entry = self.entries.removeIfHasKey(key);
+            if entry is () || entry.block != block {
+                self.misses += 1;
+                return ();
+            }
+            self.hits += 1;
+            self.entries[key] = entry;
+            return entry.result;
+        }
+    }
+
+    # Caches a result as the most recently used one, evicting the least recently used result if the
+    # cache is full.
+    #
+    # + key - The key
+    # + result - The result
+    # + block - The latest block number when the result was read, or () for a result that never changes
+    isolated function put(string key, string result, int? block) {
+        lock {
+            _ = self.entries.removeIfHasKey(key);
+            if self.entries.length() >= self.capacity {
+                record {|CacheEntry value;|}? leastRecentlyUsed = self.entries.iterator().next();
+                if leastRecentlyUsed !is () {
+                    _ = self.entries.remove(leastRecentlyUsed.value.key);
+                }
+            }
+            self.entries[key] = {key, result, block};
+        }
+    }
+
+    # Returns the latest block number, which is read from the node at most once per check interval.
+    #
+    # + rpcClient - The HTTP client of the node
+    # + return - The block number, or an error if it could not be read
+    isolated function getLatestBlock(http:Client rpcClient) returns int|error {
+        decimal now = time:monotonicNow();
+        int requestId;
+        lock {
+            if self.latestBlock >= 0 && now - self.blockCheckedAt < self.blockCheckInterval {
+                return self.latestBlock;
+            }
+            self.blockRequestId -= 1;
+            requestId = self.blockRequestId;
+        }
+
+        // Sent outside the lock, so lookups go on while the block number is read
+        json requestBody = {"jsonrpc": "2.0", "method": "eth_blockNumber", "params": [], "id": requestId};
+        record {string result;} response = check rpcClient->post("/", requestBody);
+        int block = check hexToDecimal(response.result);
+
+        lock {
+            // Keep the block number of the most recent check, if another strand finished one later
+            if now >= self.blockCheckedAt {
+                self.latestBlock = block;
+                self.blockCheckedAt = now;
+            }
+            return self.latestBlock;
+        }
+    }
+
+    # Returns the hit and miss counters and the number of cached results.
+    #
+    # + return - The counters
+    public isolated function getStats() returns CallCacheStats {
+        lock {
+            return {hits: self.hits, misses: self.misses, size: self.entries.length()};
+        }
+    }
+
+    # Removes every cached result. The counters are kept.
+    public isolated function clear() {
+        lock {
+            self.entries.removeAll();
+        }
+    }
+}
+
+# Sends a JSON-RPC request whose result is a string, such as an `eth_call`, and answers it from the
+# call cache when there is one. Requests at the latest block are cached with the latest block number.
+#
+# + rpcClient - The HTTP client of the node
+# + cache - The call cache, or () to always send the request
+# + method - The method
+# + params - The parameters of the method, including the block tag
+# + requestId - The JSON-RPC request id
+# + permanent - Whether the result never changes, such as that of a pure function or of `eth_chainId`
+# + return - The result, or an error if the request fails
+isolated function sendCachedRequest(http:Client rpcClient, CallCache? cache, string method, json[] params,
+        int requestId, boolean permanent = false) returns string|error {
+    json requestBody = {"jsonrpc": "2.0", "method": method, "params": params, "id": requestId};
+    if cache is () {
+        record {string result;} response = check rpcClient->post("/", requestBody);
+        return response.result;
+    }
+
+    int? block = permanent ? () : check cache.getLatestBlock(rpcClient);
+    string key = method + params.toJsonString();
+    string? cached = cache.get(key, block);
+    if cached is string {
+        return cached;
+    }
+
+    record {string result;} response = check rpcClient->post("/", requestBody);
+    cache.put(key, response.result, block);
+    return response.result;
+}
@@ -0,0 +1,102 @@
+
+// Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Encodes function parameters in the contract ABI format, as appended to a function selector.
+# Dynamic values (`string`, `bytes`, `T[]` and tuples holding any of them) follow the heads and
+# are referenced by offset.
+#
+# + types - The canonical ABI types of the parameters, such as `address` or `(uint256,string)[]`
+# + params - The values: int or decimal for integers, 0x-prefixed hex strings for addresses,
+# byte[] or 0x-prefixed hex for bytes, and arrays for ABI arrays and tuples
+# + return - The hex-encoded parameters, without the 0x prefix, or an error if a value does not fit its type
+public isolated function encodeParameters(string[] types, anydata[] params) returns string|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Decodes return data in the contract ABI format.
+#
+# + types - The ABI types of the values, such as `uint256` or `(uint256 price,address maker)[]`
+# + data - The hex-encoded data, with or without the 0x prefix
+# + return - The decoded values: int for integers, decimal for unsigned integers of 64 bits or more,
+# 0x-prefixed hex strings for addresses, byte[] for bytes, arrays for ABI arrays and unnamed tuples,
+# and maps for tuples with named components; or an error if the data does not match the types or an
+# unsigned integer has more significant digits than a decimal holds
+public isolated function decodeParameters(string[] types, string data) returns anydata[]|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts a string value to the hexadecimal representation of its UTF-8 bytes.
+#
+# + value - The string to convert
+# + return - Hex-encoded string
+public isolated function stringToHex(string value) returns string = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts a hexadecimal string to an integer.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The integer value, or an error for non-hex characters or values above the int range
+public isolated function hexToDecimal(string str) returns int|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts a hexadecimal string of up to 256 bits, such as a uint256 ABI word, to a decimal.
+# A decimal holds 34 significant digits; values with more, such as the maximum uint256, are
+# rejected and can be read with `hexToUint256String`.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The decimal value, or an error for non-hex characters, values above 256 bits or values
+# with more significant digits than a decimal holds
+public isolated function hexToUint256(string str) returns decimal|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts a hexadecimal string of up to 256 bits, such as a uint256 ABI word, to its exact decimal
+# digits, for values that a decimal cannot hold.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The decimal digits, or an error for non-hex characters or values above 256 bits
+public isolated function hexToUint256String(string str) returns string|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts bytes to a hexadecimal string.
+#
+# + bytes - The bytes to convert
+# + return - Hex string (without 0x prefix)
+public isolated function bytesToHex(byte[] bytes) returns string = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Converts a hexadecimal string, with or without the 0x prefix, to bytes.
+#
+# + str - The hex string to convert
+# + return - The bytes or an error
+public isolated function hexToBytes(string str) returns byte[]|error = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
+
+# Computes the Keccak-256 hash used for Ethereum selectors, topics and addresses.
+#
+# + data - The data to hash
+# + return - The 32-byte hash
+public isolated function keccak256(byte[] data) returns byte[] = @java:Method {
+    'class: "io.ballerina.web3.runtime.Web3Interop"
+} external;
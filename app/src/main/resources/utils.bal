@@ -15,83 +15,831 @@
 // specific language governing permissions and limitations
 // under the License.
 
-# Encodes an array of parameters into ABI-compatible hex format.
-# Each parameter is padded to 32 bytes (64 hex characters).
-#
-# + params - Array of parameters to encode
-# + return - Hex-encoded parameter string
-public isolated function encodeParameters(json[] params) returns string {
-    string encodedParams = "";
-    foreach var param in params {
-        string paramEncoded = "";
-        if param is int {
-            paramEncoded = param.toHexString().padStart(64, "0");
-        } else if param is string {
-            if param.startsWith("0x") && param.length() == 42 {
-                // Ethereum address: strip 0x prefix and left-pad to 32 bytes
-                paramEncoded = param.substring(2).padStart(64, "0");
-            } else {
-                paramEncoded = stringToHex(param).padStart(64, "0");
+import ballerina/lang.array;
+
+# Size in bytes of an ABI word; every head and every padded tail is a multiple of it.
+const int WORD_SIZE = 32;
+
+# 2^48, the base of the 6-byte chunks in which wide unsigned integers are decoded.
+const decimal BYTE_CHUNK_BASE = 281474976710656;
+
+# The significant digits a decimal holds; wider values are rejected instead of rounded.
+const int DECIMAL_DIGITS = 34;
+
+# Bytes of an unsigned integer below 2^112, which has at most 34 digits and is always exact as a decimal.
+const int EXACT_DECIMAL_BYTES = 14;
+
+# 10^9, the base of the digit groups in which 256-bit words are converted to decimal digits.
+const int DIGIT_GROUP_BASE = 1000000000;
+
+# The kinds of ABI type the encoder handles.
+type AbiKind "uint"|"int"|"address"|"bool"|"fixedBytes"|"bytes"|"string"|"array"|"fixedArray"|"tuple";
+
+# A parsed ABI type.
+#
+# + kind - The kind of type
+# + size - The bits of an integer, the length of fixed bytes or of a fixed-size array, or -1
+# + element - The element type of an array
+# + components - The component types of a tuple
+# + names - The names of the tuple components, if every component is named
+type AbiType record {|
+    AbiKind kind;
+    int size = -1;
+    AbiType? element = ();
+    AbiType[] components = [];
+    string[] names = [];
+|};
+
+# Encodes function parameters in the contract ABI format, as appended to a function selector.
+# Dynamic values (`string`, `bytes`, `T[]` and tuples holding any of them) follow the heads and
+# are referenced by offset. The encoded size is computed first and every value is written in
+# place into one preallocated byte array, so encoding takes time linear in the encoded size.
+#
+# + types - The canonical ABI types of the parameters, such as `address` or `(uint256,string)[]`
+# + params - The values: int or decimal for integers, 0x-prefixed hex strings for addresses,
+# byte[] or 0x-prefixed hex for bytes, and arrays for ABI arrays and tuples
+# + return - The hex-encoded parameters, without the 0x prefix, or an error if a value does not fit its type
+public isolated function encodeParameters(string[] types, anydata[] params) returns string|error {
+    if types.length() != params.length() {
+        return error(string `Expected ${types.length()} parameters, found ${params.length()}`);
+    }
+    AbiType[] abiTypes = [];
+    foreach string abiType in types {
+        abiTypes.push(check parseAbiType(abiType));
+    }
+
+    byte[] encoded = [];
+    encoded.setLength(check sequenceSize(abiTypes, params));
+    _ = check writeSequence(encoded, 0, abiTypes, params);
+    return encoded.toBase16();
+}
+
+# Converts a string value to the hexadecimal representation of its UTF-8 bytes.
+#
+# + value - The string to convert
+# + return - Hex-encoded string
+public isolated function stringToHex(string value) returns string {
+    return value.toBytes().toBase16();
+}
+
+# Parses a canonical ABI type, such as `uint256`, `bytes32[2]` or `(address,string)[]`.
+# Tuple components may be followed by a name, as in `(uint256 price,address maker)[]`.
+#
+# + abiType - The type
+# + return - The parsed type, or an error if it is not a valid ABI type
+isolated function parseAbiType(string abiType) returns AbiType|error {
+    if abiType.endsWith("]") {
+        int? open = abiType.lastIndexOf("[");
+        if open is () {
+            return error("Invalid ABI type: " + abiType);
+        }
+        AbiType element = check parseAbiType(abiType.substring(0, open));
+        string length = abiType.substring(open + 1, abiType.length() - 1);
+        if length == "" {
+            return {kind: "array", element};
+        }
+        return {kind: "fixedArray", size: check int:fromString(length), element};
+    }
+
+    if abiType.startsWith("(") && abiType.endsWith(")") {
+        string[] componentTypes = [];
+        int depth = 0;
+        int componentStart = 1;
+        foreach int i in 1 ..< abiType.length() - 1 {
+            int codePoint = abiType.getCodePoint(i);
+            if codePoint == 40 {
+                depth += 1;
+            } else if codePoint == 41 {
+                depth -= 1;
+            } else if codePoint == 44 && depth == 0 {
+                componentTypes.push(abiType.substring(componentStart, i));
+                componentStart = i + 1;
             }
-        } else if param is boolean {
-            paramEncoded = param ? "1".padStart(64, "0") : "0".padStart(64, "0");
-        } else if param is byte[] {
-            string hexStr = "";
-            foreach byte b in param {
-                hexStr += int:toHexString(b).padStart(2, "0");
+        }
+        if abiType.length() > 2 {
+            componentTypes.push(abiType.substring(componentStart, abiType.length() - 1));
+        }
+
+        AbiType[] components = [];
+        string[] names = [];
+        foreach string componentType in componentTypes {
+            // A name follows the last space, unless that space is inside a nested tuple
+            string component = componentType.trim();
+            int? space = component.lastIndexOf(" ");
+            string name = space is int ? component.substring(space + 1) : "";
+            if space is int && name.matches(re `[A-Za-z_][A-Za-z0-9_]*`) {
+                components.push(check parseAbiType(component.substring(0, space)));
+                names.push(name);
+            } else {
+                components.push(check parseAbiType(component));
             }
-            paramEncoded = hexStr.padEnd(64, "0");
+        }
+        return {kind: "tuple", components, names: names.length() == components.length() ? names : []};
+    }
+
+    if abiType == "address" || abiType == "bool" || abiType == "bytes" || abiType == "string" {
+        return {kind: <AbiKind>abiType};
+    }
+    if abiType.startsWith("uint") || abiType.startsWith("int") {
+        boolean signed = abiType.startsWith("int");
+        string bits = abiType.substring(signed ? 3 : 4);
+        int size = bits == "" ? 256 : check int:fromString(bits);
+        if size < 8 || size > 256 || size % 8 != 0 {
+            return error("Invalid ABI type: " + abiType);
+        }
+        return {kind: signed ? "int" : "uint", size};
+    }
+    if abiType.startsWith("bytes") {
+        int size = check int:fromString(abiType.substring(5));
+        if size < 1 || size > WORD_SIZE {
+            return error("Invalid ABI type: " + abiType);
+        }
+        return {kind: "fixedBytes", size};
+    }
+    return error("Unsupported ABI type: " + abiType);
+}
+
+# Decodes return data in the contract ABI format. The hex is converted to bytes once, and heads
+# and tails are then read by offset, without slicing the hex into words.
+#
+# + types - The ABI types of the values, such as `uint256` or `(uint256 price,address maker)[]`
+# + data - The hex-encoded data, with or without the 0x prefix
+# + return - The decoded values: int for integers, decimal for unsigned integers of 64 bits or more,
+# 0x-prefixed hex strings for addresses, byte[] for bytes, arrays for ABI arrays and unnamed tuples,
+# and maps for tuples with named components; or an error if the data does not match the types or an
+# unsigned integer has more significant digits than a decimal holds
+public isolated function decodeParameters(string[] types, string data) returns anydata[]|error {
+    byte[] encoded = check array:fromBase16(data.startsWith("0x") ? data.substring(2) : data);
+    AbiType[] abiTypes = [];
+    foreach string abiType in types {
+        abiTypes.push(check parseAbiType(abiType));
+    }
+    return readSequence(encoded, 0, abiTypes, abiTypes.length());
+}
+
+# Returns true if values of the type are encoded in the tail and referenced by offset.
+#
+# + abiType - The type
+# + return - Whether the type is dynamic
+isolated function isDynamicType(AbiType abiType) returns boolean {
+    AbiKind kind = abiType.kind;
+    if kind == "bytes" || kind == "string" || kind == "array" {
+        return true;
+    }
+    AbiType? element = abiType.element;
+    if kind == "fixedArray" && element is AbiType {
+        return isDynamicType(element);
+    }
+    foreach AbiType component in abiType.components {
+        if isDynamicType(component) {
+            return true;
+        }
+    }
+    return false;
+}
+
+# Returns the size of the head of a value: one word for dynamic values, which hold an offset,
+# and the whole value for static ones.
+#
+# + abiType - The type
+# + return - The head size in bytes
+isolated function headSize(AbiType abiType) returns int {
+    if isDynamicType(abiType) {
+        return WORD_SIZE;
+    }
+    AbiType? element = abiType.element;
+    if abiType.kind == "fixedArray" && element is AbiType {
+        return abiType.size * headSize(element);
+    }
+    if abiType.kind == "tuple" {
+        int size = 0;
+        foreach AbiType component in abiType.components {
+            size += headSize(component);
+        }
+        return size;
+    }
+    return WORD_SIZE;
+}
+
+# Returns the encoded size of a value, including the tail of a dynamic value.
+#
+# + abiType - The type
+# + value - The value
+# + return - The size in bytes, or an error if the value does not match the type
+isolated function encodedSize(AbiType abiType, anydata value) returns int|error {
+    if !isDynamicType(abiType) {
+        return headSize(abiType);
+    }
+    AbiKind kind = abiType.kind;
+    if kind == "string" || kind == "bytes" {
+        byte[] bytes = check toAbiBytes(abiType, value);
+        return WORD_SIZE + paddedLength(bytes.length());
+    }
+    anydata[] values = check toAbiList(abiType, value);
+    int size = check sequenceSize(sequenceTypes(abiType), values);
+    return kind == "array" ? WORD_SIZE + size : size;
+}
+
+# Returns the encoded size of a sequence of values: the heads followed by the tails.
+#
+# + types - The type of each value, or the single type of all values of an array
+# + values - The values
+# + return - The size in bytes, or an error if a value does not match its type
+isolated function sequenceSize(AbiType[]|AbiType types, anydata[] values) returns int|error {
+    if types is AbiType && !isDynamicType(types) {
+        return values.length() * headSize(types);
+    }
+    int size = 0;
+    foreach int i in 0 ..< values.length() {
+        AbiType abiType = types is AbiType ? types : types[i];
+        size += isDynamicType(abiType) ? WORD_SIZE + check encodedSize(abiType, values[i]) : headSize(abiType);
+    }
+    return size;
+}
+
+# Writes a sequence of values: the heads from the offset on, then the tails, each referenced from
+# its head by its position relative to the offset.
+#
+# + encoded - The buffer, zero-filled and sized for the whole encoding
+# + offset - The position of the first head
+# + types - The type of each value, or the single type of all values of an array
+# + values - The values
+# + return - The position after the last tail, or an error if a value does not match its type
+isolated function writeSequence(byte[] encoded, int offset, AbiType[]|AbiType types, anydata[] values)
+        returns int|error {
+    if types is AbiType[] && types.length() != values.length() {
+        return error(string `Expected ${types.length()} values, found ${values.length()}`);
+    }
+    int tail = offset;
+    if types is AbiType {
+        tail += values.length() * headSize(types);
+    } else {
+        foreach AbiType abiType in types {
+            tail += headSize(abiType);
+        }
+    }
+
+    int head = offset;
+    foreach int i in 0 ..< values.length() {
+        AbiType abiType = types is AbiType ? types : types[i];
+        if isDynamicType(abiType) {
+            writeInt(encoded, head, tail - offset);
+            tail = check writeValue(encoded, tail, abiType, values[i]);
         } else {
-            paramEncoded = stringToHex(param.toString()).padStart(64, "0");
+            _ = check writeValue(encoded, head, abiType, values[i]);
         }
+        head += headSize(abiType);
+    }
+    return tail;
+}
 
-        encodedParams += paramEncoded;
+# Writes a value at the given position.
+#
+# + encoded - The buffer
+# + position - The position of the value
+# + abiType - The type
+# + value - The value
+# + return - The position after the value, or an error if the value does not match the type
+isolated function writeValue(byte[] encoded, int position, AbiType abiType, anydata value) returns int|error {
+    AbiKind kind = abiType.kind;
+    if kind == "uint" || kind == "int" {
+        check writeInteger(encoded, position, abiType, value);
+        return position + WORD_SIZE;
+    }
+    if kind == "address" {
+        if value !is string || value.length() != 42 || !value.startsWith("0x") {
+            return abiTypeMismatch(abiType, value);
+        }
+        copyBytes(encoded, position + 12, check array:fromBase16(value.substring(2)));
+        return position + WORD_SIZE;
+    }
+    if kind == "bool" {
+        if value !is boolean {
+            return abiTypeMismatch(abiType, value);
+        }
+        encoded[position + WORD_SIZE - 1] = value ? 1 : 0;
+        return position + WORD_SIZE;
+    }
+    if kind == "fixedBytes" {
+        // Fixed-size bytes are left-aligned in their word
+        byte[] bytes = check toAbiBytes(abiType, value);
+        if bytes.length() > abiType.size {
+            return abiTypeMismatch(abiType, value);
+        }
+        copyBytes(encoded, position, bytes);
+        return position + WORD_SIZE;
+    }
+    if kind == "string" || kind == "bytes" {
+        byte[] bytes = check toAbiBytes(abiType, value);
+        writeInt(encoded, position, bytes.length());
+        copyBytes(encoded, position + WORD_SIZE, bytes);
+        return position + WORD_SIZE + paddedLength(bytes.length());
     }
-    return encodedParams;
+
+    anydata[] values = check toAbiList(abiType, value);
+    if kind == "array" {
+        writeInt(encoded, position, values.length());
+        return writeSequence(encoded, position + WORD_SIZE, sequenceTypes(abiType), values);
+    }
+    return writeSequence(encoded, position, sequenceTypes(abiType), values);
 }
 
-# Converts a string value to its hexadecimal representation.
+# Reads a sequence of values: the heads from the offset on, and the tails they point to, whose
+# positions are relative to the offset.
 #
-# + value - The string to convert
-# + return - Hex-encoded string
-public isolated function stringToHex(string value) returns string {
-    string hexString = "";
-    foreach var ch in value {
-        hexString += int:toHexString(ch.toCodePointInt());
+# + encoded - The encoded data
+# + offset - The position of the first head
+# + types - The type of each value, or the single type of all values of an array
+# + count - The number of values
+# + return - The values, or an error if the data does not match the types
+isolated function readSequence(byte[] encoded, int offset, AbiType[]|AbiType types, int count)
+        returns anydata[]|error {
+    // Every value takes at least one word, which bounds the count before anything is allocated
+    if count > (encoded.length() - offset) / WORD_SIZE + 1 {
+        return error(string `Invalid ABI data: ${count} values exceed the data`);
+    }
+    anydata[] values = [];
+    int head = offset;
+    foreach int i in 0 ..< count {
+        AbiType abiType = types is AbiType ? types : types[i];
+        int position = isDynamicType(abiType) ? offset + check readLength(encoded, head) : head;
+        values.push(check readValue(encoded, position, abiType));
+        head += headSize(abiType);
     }
-    return hexString;
+    return values;
 }
 
+# Reads a value at the given position.
+#
+# + encoded - The encoded data
+# + position - The position of the value, which is its tail for dynamic values
+# + abiType - The type
+# + return - The value, or an error if the data does not match the type
+isolated function readValue(byte[] encoded, int position, AbiType abiType) returns anydata|error {
+    AbiKind kind = abiType.kind;
+    if kind == "string" || kind == "bytes" {
+        int length = check readLength(encoded, position);
+        int start = position + WORD_SIZE;
+        if start + length > encoded.length() {
+            return error(string `Invalid ABI data: read past the end at offset ${start}`);
+        }
+        byte[] bytes = encoded.slice(start, start + length);
+        return kind == "string" ? string:fromBytes(bytes) : bytes;
+    }
+    if kind == "array" {
+        return readSequence(encoded, position + WORD_SIZE, sequenceTypes(abiType),
+            check readLength(encoded, position));
+    }
+    if kind == "fixedArray" || kind == "tuple" {
+        anydata[] values = check readSequence(encoded, position, sequenceTypes(abiType),
+            kind == "tuple" ? abiType.components.length() : abiType.size);
+        if abiType.names.length() == 0 {
+            return values;
+        }
+        map<anydata> fields = {};
+        foreach int i in 0 ..< values.length() {
+            fields[abiType.names[i]] = values[i];
+        }
+        return fields;
+    }
+
+    if position < 0 || position + WORD_SIZE > encoded.length() {
+        return error(string `Invalid ABI data: read past the end at offset ${position}`);
+    }
+    if kind == "address" {
+        return "0x" + encoded.slice(position + 12, position + WORD_SIZE).toBase16();
+    }
+    if kind == "bool" {
+        return encoded[position + WORD_SIZE - 1] != 0;
+    }
+    if kind == "fixedBytes" {
+        return encoded.slice(position, position + abiType.size);
+    }
+    if kind == "uint" && abiType.size >= 64 {
+        return readUint256(encoded, position);
+    }
+
+    // Smaller unsigned integers and sign-extended signed integers are read from the last 8 bytes
+    int value = readInt(encoded, position + WORD_SIZE - 8);
+    byte extension = kind == "int" && value < 0 ? 255 : 0;
+    foreach int i in position ..< position + WORD_SIZE - 8 {
+        if encoded[i] != extension {
+            return error(string `Value of ABI type ${kind}${abiType.size} exceeds the int range`);
+        }
+    }
+    return value;
+}
+
+# Reads a length or an offset, which must fit the data.
+#
+# + encoded - The encoded data
+# + position - The position of the word
+# + return - The length or offset, or an error if it is out of range
+isolated function readLength(byte[] encoded, int position) returns int|error {
+    if position < 0 || position + WORD_SIZE > encoded.length() {
+        return error(string `Invalid ABI data: read past the end at offset ${position}`);
+    }
+    foreach int i in position ..< position + WORD_SIZE - 8 {
+        if encoded[i] != 0 {
+            return error("Invalid ABI data: length or offset out of range");
+        }
+    }
+    int length = readInt(encoded, position + WORD_SIZE - 8);
+    if length < 0 || length > encoded.length() {
+        return error("Invalid ABI data: length or offset out of range");
+    }
+    return length;
+}
+
+# Reads 8 bytes as a two's complement int.
+#
+# + encoded - The encoded data
+# + position - The position of the first byte
+# + return - The value
+isolated function readInt(byte[] encoded, int position) returns int {
+    int value = 0;
+    foreach int i in position ..< position + 8 {
+        value = value << 8 | encoded[i];
+    }
+    return value;
+}
+
+# Reads an unsigned 256-bit word as a decimal, 6 bytes at a time after the leading zero bytes.
+# Words of 2^112 or more are converted through their exact digits, which must fit a decimal.
+#
+# + encoded - The encoded data
+# + position - The position of the word
+# + return - The value, or an error if it has more significant digits than a decimal holds
+isolated function readUint256(byte[] encoded, int position) returns decimal|error {
+    int index = position;
+    int end = position + WORD_SIZE;
+    while index < end && encoded[index] == 0 {
+        index += 1;
+    }
+    if end - index > EXACT_DECIMAL_BYTES {
+        return toExactDecimal(uint256Digits(encoded, position));
+    }
+
+    // The first chunk takes the remainder, so that all the others are whole
+    int chunkEnd = index + (end - index) % 6;
+    decimal result = 0;
+    int chunk = 0;
+    while index < end {
+        if index == chunkEnd {
+            result = result * BYTE_CHUNK_BASE + <decimal>chunk;
+            chunk = 0;
+            chunkEnd += 6;
+        }
+        chunk = chunk << 8 | encoded[index];
+        index += 1;
+    }
+    return result * BYTE_CHUNK_BASE + <decimal>chunk;
+}
+
+# Converts an unsigned 256-bit word to its exact decimal digits, dividing eight 32-bit limbs by
+# 10^9 at a time. A remainder below 10^9 shifted by 32 bits stays within the int range.
+#
+# + encoded - The encoded data
+# + position - The position of the word
+# + return - The decimal digits, without leading zeros
+isolated function uint256Digits(byte[] encoded, int position) returns string {
+    int[] limbs = [];
+    foreach int i in 0 ..< 8 {
+        int start = position + i * 4;
+        limbs.push(encoded[start] << 24 | encoded[start + 1] << 16 | encoded[start + 2] << 8 | encoded[start + 3]);
+    }
+
+    // Groups of nine digits, least significant first
+    int[] groups = [];
+    int first = 0;
+    while first < 8 && limbs[first] == 0 {
+        first += 1;
+    }
+    while first < 8 {
+        int remainder = 0;
+        foreach int i in first ..< 8 {
+            int current = remainder << 32 | limbs[i];
+            limbs[i] = current / DIGIT_GROUP_BASE;
+            remainder = current % DIGIT_GROUP_BASE;
+        }
+        groups.push(remainder);
+        while first < 8 && limbs[first] == 0 {
+            first += 1;
+        }
+    }
+    if groups.length() == 0 {
+        return "0";
+    }
+
+    string digits = groups[groups.length() - 1].toString();
+    int i = groups.length() - 2;
+    while i >= 0 {
+        digits += groups[i].toString().padStart(9, "0");
+        i -= 1;
+    }
+    return digits;
+}
+
+# Converts exact decimal digits to a decimal, which holds at most 34 significant digits.
+# Trailing zeros are not significant, so values such as 10^77 fit.
+#
+# + digits - The decimal digits of an unsigned integer
+# + return - The decimal, or an error if the value has more significant digits than a decimal holds
+isolated function toExactDecimal(string digits) returns decimal|error {
+    int end = digits.length();
+    while end > 1 && digits.getCodePoint(end - 1) == 48 {
+        end -= 1;
+    }
+    if end > DECIMAL_DIGITS {
+        return error(string `Value ${digits} exceeds the ${DECIMAL_DIGITS} significant digits of a decimal; `
+            + "read it with hexToUint256String");
+    }
+    return decimal:fromString(digits);
+}
+
+# Writes an integer in two's complement, checking that it fits the bits of its type.
+# Decimals must be whole numbers; negative decimals must be within the int range.
+#
+# + encoded - The buffer
+# + position - The position of the word
+# + abiType - The integer type
+# + value - The int or decimal value
+# + return - An error if the value does not fit the type
+isolated function writeInteger(byte[] encoded, int position, AbiType abiType, anydata value) returns error? {
+    boolean signed = abiType.kind == "int";
+    int bits = abiType.size;
+    anydata number = value;
+    if value is decimal && value.floor() == value && value >= -9223372036854775808d
+            && value <= 9223372036854775807d {
+        number = <int>value;
+    }
+
+    if number is int {
+        boolean fits = signed ? bits >= 64 || (number >= -(1 << (bits - 1)) && number < 1 << (bits - 1))
+            : number >= 0 && (bits >= 64 || number < 1 << bits);
+        if !fits {
+            return abiTypeMismatch(abiType, value);
+        }
+        writeInt(encoded, position, number);
+        return;
+    }
+    if number !is decimal || number.floor() != number || number < 0d {
+        return abiTypeMismatch(abiType, value);
+    }
+
+    // A whole decimal beyond the int range, written digit by digit from its exact text
+    string digits = number.toString();
+    int exponent = 0;
+    int? exponentIndex = digits.indexOf("E");
+    if exponentIndex is int {
+        string exponentDigits = digits.substring(exponentIndex + 1);
+        exponent = check int:fromString(exponentDigits.startsWith("+") ? exponentDigits.substring(1) : exponentDigits);
+        digits = digits.substring(0, exponentIndex);
+    }
+    int? point = digits.indexOf(".");
+    if point is int {
+        exponent -= digits.length() - point - 1;
+        digits = digits.substring(0, point) + digits.substring(point + 1);
+    }
+    // Digits after the point of a whole number are zeros
+    int length = exponent < 0 ? digits.length() + exponent : digits.length();
+    foreach int i in 0 ..< length {
+        check multiplyAdd(encoded, position, 10, digits.getCodePoint(i) - 48, abiType, value);
+    }
+    foreach int _ in 0 ..< exponent {
+        check multiplyAdd(encoded, position, 10, 0, abiType, value);
+    }
+
+    // The bytes above the bits of the type must be clear, and the sign bit of a signed type
+    int unusedBytes = WORD_SIZE - bits / 8;
+    foreach int i in position ..< position + unusedBytes {
+        if encoded[i] != 0 {
+            return abiTypeMismatch(abiType, value);
+        }
+    }
+    if signed && encoded[position + unusedBytes] >= 128 {
+        return abiTypeMismatch(abiType, value);
+    }
+}
+
+# Multiplies the unsigned 256-bit word at the position by a factor and adds a small value.
+#
+# + encoded - The buffer
+# + position - The position of the word
+# + factor - The factor
+# + addend - The value to add
+# + abiType - The type being written, for the error
+# + value - The value being written, for the error
+# + return - An error if the result exceeds 256 bits
+isolated function multiplyAdd(byte[] encoded, int position, int factor, int addend, AbiType abiType,
+        anydata value) returns error? {
+    int carry = addend;
+    int index = position + WORD_SIZE - 1;
+    while index >= position {
+        int product = encoded[index] * factor + carry;
+        encoded[index] = <byte>(product & 255);
+        carry = product >> 8;
+        index -= 1;
+    }
+    if carry != 0 {
+        return abiTypeMismatch(abiType, value);
+    }
+}
+
+# Writes an int as a 32-byte two's complement word.
+#
+# + encoded - The buffer
+# + position - The position of the word
+# + value - The value
+isolated function writeInt(byte[] encoded, int position, int value) {
+    int remaining = value;
+    foreach int i in 1 ... 8 {
+        encoded[position + WORD_SIZE - i] = <byte>(remaining & 255);
+        remaining >>= 8;
+    }
+    if value < 0 {
+        foreach int i in position ..< position + WORD_SIZE - 8 {
+            encoded[i] = 255;
+        }
+    }
+}
+
+# Copies bytes into the buffer.
+#
+# + encoded - The buffer
+# + position - The position to copy to
+# + bytes - The bytes
+isolated function copyBytes(byte[] encoded, int position, byte[] bytes) {
+    foreach int i in 0 ..< bytes.length() {
+        encoded[position + i] = bytes[i];
+    }
+}
+
+# Returns the length rounded up to a whole number of words.
+#
+# + length - The length in bytes
+# + return - The padded length
+isolated function paddedLength(int length) returns int {
+    return (length + WORD_SIZE - 1) / WORD_SIZE * WORD_SIZE;
+}
+
+# Returns the bytes of a `string`, `bytes` or `bytesN` value.
+#
+# + abiType - The type
+# + value - A string for `string`; a byte[] or 0x-prefixed hex string otherwise
+# + return - The bytes, or an error if the value does not match the type
+isolated function toAbiBytes(AbiType abiType, anydata value) returns byte[]|error {
+    if abiType.kind == "string" {
+        return value is string ? value.toBytes() : abiTypeMismatch(abiType, value);
+    }
+    if value is byte[] {
+        return value;
+    }
+    if value is string && value.startsWith("0x") {
+        return array:fromBase16(value.substring(2));
+    }
+    return abiTypeMismatch(abiType, value);
+}
+
+# Returns the values of an array or tuple, checking the length of fixed-size arrays and tuples.
+#
+# + abiType - The array or tuple type
+# + value - The value
+# + return - The values, or an error if the value does not match the type
+isolated function toAbiList(AbiType abiType, anydata value) returns anydata[]|error {
+    if value !is anydata[] {
+        return abiTypeMismatch(abiType, value);
+    }
+    int expected = abiType.kind == "tuple" ? abiType.components.length() : abiType.size;
+    if abiType.kind != "array" && value.length() != expected {
+        return abiTypeMismatch(abiType, value);
+    }
+    return value;
+}
+
+# Returns the types of the values of an array or tuple.
+#
+# + abiType - The array or tuple type
+# + return - The component types of a tuple, or the element type of an array
+isolated function sequenceTypes(AbiType abiType) returns AbiType[]|AbiType {
+    AbiType? element = abiType.element;
+    return element is AbiType ? element : abiType.components;
+}
+
+# Returns the error for a value that does not match its ABI type.
+#
+# + abiType - The type
+# + value - The value
+# + return - The error
+isolated function abiTypeMismatch(AbiType abiType, anydata value) returns error {
+    AbiKind kind = abiType.kind;
+    string name = kind == "uint" || kind == "int" ? kind + abiType.size.toString()
+        : kind == "fixedBytes" ? "bytes" + abiType.size.toString() : kind;
+    return error(string `Value ${value.toString()} does not fit ABI type ${name}`);
+}
+
+# Hex digits decoded per `int:fromHexString` call when building a decimal; 16^15 stays below the int range.
+const int HEX_CHUNK_DIGITS = 15;
+const decimal HEX_CHUNK_BASE = 1152921504606846976;
+
 # Converts a hexadecimal string to an integer.
-# Strips leading zeros and handles empty input.
+# Leading zeros, such as the padding of a 32-byte ABI word, are skipped.
 #
-# + str - Hex string (without 0x prefix)
-# + return - The integer value or an error
+# + str - Hex string, with or without the 0x prefix
+# + return - The integer value, or an error for non-hex characters or values above the int range
 public isolated function hexToDecimal(string str) returns int|error {
-    if str.length() == 0 {
+    int index = significantHexIndex(str);
+    int digits = str.length() - index;
+    if digits == 0 {
         return 0;
     }
+    // 16 digits fit only below 0x8000000000000000
+    if digits > 16 || (digits == 16 && str.getCodePoint(index) > 55) {
+        return error("Hex value exceeds the int range: " + str);
+    }
+    return parseHexDigits(str.substring(index));
+}
 
-    string hexString = str.toUpperAscii();
+# Converts a hexadecimal string of up to 256 bits, such as a uint256 ABI word, to a decimal.
+# A decimal holds 34 significant digits, which covers balances and token amounts in Wei; values
+# with more, such as the maximum uint256, are rejected and can be read with `hexToUint256String`.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The decimal value, or an error for non-hex characters, values above 256 bits or values
+# with more significant digits than a decimal holds
+public isolated function hexToUint256(string str) returns decimal|error {
+    int index = significantHexIndex(str);
+    int length = str.length();
+    if length - index > 64 {
+        return error("Hex value exceeds 256 bits: " + str);
+    }
+    if length - index > EXACT_DECIMAL_BYTES * 2 {
+        return toExactDecimal(uint256Digits(check hexToWord(str, index), 0));
+    }
 
-    if !hexString.matches(re `^[A-F0-9]+$`) {
-        return error("Invalid hex string: Contains non-hexadecimal characters");
+    // The first chunk takes the remainder, so that all the others are whole
+    int chunkEnd = index + (length - index) % HEX_CHUNK_DIGITS;
+    if chunkEnd == index && index < length {
+        chunkEnd += HEX_CHUNK_DIGITS;
+    }
+    decimal result = index == chunkEnd ? 0 : <decimal>check parseHexDigits(str.substring(index, chunkEnd));
+    while chunkEnd < length {
+        int chunk = check parseHexDigits(str.substring(chunkEnd, chunkEnd + HEX_CHUNK_DIGITS));
+        result = result * HEX_CHUNK_BASE + <decimal>chunk;
+        chunkEnd += HEX_CHUNK_DIGITS;
     }
+    return result;
+}
 
-    int result = 0;
-    foreach int i in 0 ..< hexString.length() {
-        string hexChar = hexString[i];
+# Converts a hexadecimal string of up to 256 bits, such as a uint256 ABI word, to its exact decimal
+# digits, for values that a decimal cannot hold.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The decimal digits, or an error for non-hex characters or values above 256 bits
+public isolated function hexToUint256String(string str) returns string|error {
+    int index = significantHexIndex(str);
+    if str.length() - index > 64 {
+        return error("Hex value exceeds 256 bits: " + str);
+    }
+    return uint256Digits(check hexToWord(str, index), 0);
+}
 
-        map<int> values = {
-            "0": 0, "1": 1, "2": 2, "3": 3,
-            "4": 4, "5": 5, "6": 6, "7": 7,
-            "8": 8, "9": 9, "A": 10, "B": 11,
-            "C": 12, "D": 13, "E": 14, "F": 15
-        };
+# Converts the significant digits of a hex string of up to 256 bits to a 32-byte word.
+#
+# + str - Hex string, with or without the 0x prefix
+# + index - The index of the first significant digit
+# + return - The word, or an error for non-hex characters
+isolated function hexToWord(string str, int index) returns byte[]|error {
+    byte[]|error word = array:fromBase16(str.substring(index).padStart(64, "0"));
+    if word is error {
+        return error("Invalid hex string: Contains non-hexadecimal characters");
+    }
+    return word;
+}
 
-        int digitValue = values[hexChar] ?: 0;
-        result = result * 16 + digitValue;
+# Returns the index of the first significant digit, after the 0x prefix and leading zeros.
+#
+# + str - Hex string, with or without the 0x prefix
+# + return - The index of the first non-zero digit, or the length of the string if there is none
+isolated function significantHexIndex(string str) returns int {
+    int index = str.startsWith("0x") || str.startsWith("0X") ? 2 : 0;
+    int length = str.length();
+    while index < length && str.getCodePoint(index) == 48 {
+        index += 1;
     }
+    return index;
+}
 
-    return result;
+# Parses at most 16 hex digits, without a prefix or sign, in a single call.
+#
+# + digits - The hex digits
+# + return - The integer value or an error
+isolated function parseHexDigits(string digits) returns int|error {
+    // int:fromHexString also accepts a sign, which is not valid in an ABI word
+    int|error value = digits.startsWith("-") || digits.startsWith("+") ? error("Signed hex")
+        : int:fromHexString(digits);
+    if value is error {
+        return error("Invalid hex string: Contains non-hexadecimal characters");
+    }
+    return value;
 }
@@ -0,0 +1,209 @@
+
+// Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+
+import ballerina/io;
+import ballerina/lang.array;
+import ballerina/test;
+
+# The vectors shared with the Java tests of the ABI codec, relative to the package root.
+const string VECTORS = "../../resources/abi-vectors.json";
+
+# An ABI vector.
+#
+# + description - What the vector covers, which names its test case
+# + types - The canonical ABI types of the parameters
+# + values - The values: integers as decimal strings, bytes as 0x-prefixed hex
+# + encoded - The encoded parameters, without the 0x prefix
+# + beyondDecimal - Whether the values have more than the 34 significant digits of a decimal, so
+# that they cannot be encoded from Ballerina values and must not be decoded to them
+type Vector record {
+    string description;
+    string[] types;
+    json[] values;
+    string encoded;
+    boolean beyondDecimal?;
+};
+
+function decimalVectors() returns map<[Vector]>|error {
+    return loadVectors(false);
+}
+
+function wideVectors() returns map<[Vector]>|error {
+    return loadVectors(true);
+}
+
+function loadVectors(boolean beyondDecimal) returns map<[Vector]>|error {
+    json content = check io:fileReadJson(VECTORS);
+    Vector[] allVectors = check content.cloneWithType();
+    map<[Vector]> data = {};
+    foreach Vector vector in allVectors {
+        if (vector.beyondDecimal == true) == beyondDecimal {
+            data[vector.description] = [vector];
+        }
+    }
+    return data;
+}
+
+@test:Config {dataProvider: decimalVectors}
+function testEncodeParameters(Vector vector) returns error? {
+    anydata[] params = [];
+    foreach int i in 0 ..< vector.types.length() {
+        params.push(check toValue(check parseAbiType(vector.types[i]), vector.values[i], false));
+    }
+    test:assertEquals(check encodeParameters(vector.types, params), vector.encoded);
+}
+
+@test:Config {dataProvider: decimalVectors}
+function testDecodeParameters(Vector vector) returns error? {
+    anydata[] expected = [];
+    foreach int i in 0 ..< vector.types.length() {
+        expected.push(check toValue(check parseAbiType(vector.types[i]), vector.values[i], true));
+    }
+    test:assertEquals(check decodeParameters(vector.types, vector.encoded), expected);
+}
+
+@test:Config {dataProvider: wideVectors}
+function testDecodeBeyondDecimal(Vector vector) returns error? {
+    // Rejected rather than rounded, and exact as digits
+    assertRejected(decodeParameters(vector.types, vector.encoded), "values beyond a decimal");
+    foreach int i in 0 ..< vector.types.length() {
+        if vector.types[i] == "uint256" {
+            string word = vector.encoded.substring(i * 64, (i + 1) * 64);
+            assertRejected(hexToUint256(word), "uint256 beyond a decimal");
+            test:assertEquals(check hexToUint256String(word), vector.values[i]);
+        }
+    }
+}
+
+@test:Config {}
+function testHexToUint256() returns error? {
+    // 2^112 - 1 is the largest value of the chunked path; 10^34 has one significant digit
+    test:assertEquals(check hexToUint256("0xffffffffffffffffffffffffffff"), 5192296858534827628530496329220095d);
+    test:assertEquals(check hexToUint256("0x1ed09bead87c0378d8e6400000000"), 1e34d);
+    test:assertEquals(check hexToUint256("0x0"), 0d);
+
+    assertRejected(hexToUint256("0x1ed09bead87c0378d8e6400000001"), "10^34 + 1");
+    assertRejected(hexToUint256("0x" + word("", "f")), "2^256 - 1");
+    test:assertEquals(check hexToUint256String("0x1ed09bead87c0378d8e6400000001"),
+        "10000000000000000000000000000000001");
+    test:assertEquals(check hexToUint256String("0x" + word("", "f")),
+        "115792089237316195423570985008687907853269984665640564039457584007913129639935");
+    test:assertEquals(check hexToUint256String("0x"), "0");
+
+    assertRejected(hexToUint256String("0x1" + word("")), "value above 256 bits");
+    assertRejected(hexToUint256String("0x" + word("zz")), "non-hex characters");
+}
+
+@test:Config {}
+function testWriteIntegerBounds() returns error? {
+    test:assertEquals(check encodeParameters(["uint8", "int8", "int256"], [255, -128, -1]),
+        word("ff") + word("80", "f") + word("", "f"));
+    test:assertEquals(check encodeParameters(["uint64"], [18446744073709551615d]), word("ffffffffffffffff"));
+    // Decimals beyond the int range are written from their digits and exponent
+    test:assertEquals(check encodeParameters(["uint256"], [1e77d]),
+        "dd15fe86affad91249ef0eb713f39ebeaa987b6e6fd2a0000000000000000000");
+    test:assertEquals(check encodeParameters(["int256"], [5e76d]),
+        "6e8aff4357fd6c8924f7875b89f9cf5f554c3db737e950000000000000000000");
+
+    assertRejected(encodeParameters(["uint8"], [256]), "uint8 above its range");
+    assertRejected(encodeParameters(["int8"], [128]), "int8 above its range");
+    assertRejected(encodeParameters(["int8"], [-129]), "int8 below its range");
+    assertRejected(encodeParameters(["uint256"], [-1]), "negative uint256");
+    assertRejected(encodeParameters(["uint64"], [18446744073709551616d]), "uint64 above its range");
+    assertRejected(encodeParameters(["uint256"], [2e77d]), "uint256 beyond 256 bits");
+    assertRejected(encodeParameters(["int256"], [6e76d]), "int256 setting the sign bit");
+    assertRejected(encodeParameters(["int256"], [-1e20d]), "negative decimal beyond the int range");
+    assertRejected(encodeParameters(["uint256"], [1.5d]), "fractional decimal");
+    assertRejected(encodeParameters(["uint256"], ["1"]), "string for an integer");
+}
+
+@test:Config {}
+function testReadValue() returns error? {
+    test:assertEquals(check decodeParameters(["int8", "int256"], word("ff", "f") + word("", "f")), [-1, -1]);
+    test:assertEquals(check decodeParameters(["uint64"], word("ffffffffffffffff")), [18446744073709551615d]);
+    test:assertEquals(check decodeParameters(["uint256"],
+        "dd15fe86affad91249ef0eb713f39ebeaa987b6e6fd2a0000000000000000000"), [1e77d]);
+    test:assertEquals(check decodeParameters(["uint256"], "00000000000000000000000000000000000"
+        + "1ed09bead87c0378d8e6400000000"), [1e34d]);
+    assertRejected(decodeParameters(["uint256"], "00000000000000000000000000000000000"
+        + "1ed09bead87c0378d8e6400000001"), "10^34 + 1");
+    test:assertEquals(check decodeParameters(["address"], word("5b38da6a701c568545dcfcb03fcb875f56beddc4")),
+        ["0x5b38da6a701c568545dcfcb03fcb875f56beddc4"]);
+    // Named tuple components are read into a map
+    test:assertEquals(check decodeParameters(["(uint256 price,bool ok)"], word("5") + word("1")),
+        [{price: 5d, ok: true}]);
+
+    assertRejected(decodeParameters(["int256"], word("10000000000000000")), "int256 beyond the int range");
+}
+
+@test:Config {}
+function testMalformedData() {
+    assertRejected(decodeParameters(["uint256"], "00".padStart(62, "0")), "truncated word");
+    assertRejected(decodeParameters(["uint256"], "0x123"), "odd number of hex digits");
+    assertRejected(decodeParameters(["string"], word("20")), "offset to the end of the data");
+    assertRejected(decodeParameters(["string"], word("", "f")), "offset beyond the int range");
+    assertRejected(decodeParameters(["bytes"], word("20") + word("21") + word("")), "length past the end");
+    assertRejected(decodeParameters(["uint256[]"], word("20") + word("7fffffff")), "array length past the end");
+}
+
+# Converts the value of a vector to a parameter of `encodeParameters` or a result of `decodeParameters`.
+#
+# + abiType - The type of the value
+# + value - The value of the vector
+# + decoded - Whether to convert to the result of `decodeParameters`
+# + return - The value, or an error if it does not match the type
+function toValue(AbiType abiType, json value, boolean decoded) returns anydata|error {
+    AbiKind kind = abiType.kind;
+    if kind == "uint" || kind == "int" {
+        string digits = check value.ensureType();
+        if decoded {
+            return kind == "uint" && abiType.size >= 64 ? decimal:fromString(digits) : int:fromString(digits);
+        }
+        int|error number = int:fromString(digits);
+        return number is int ? number : decimal:fromString(digits);
+    }
+    if decoded && (kind == "bytes" || kind == "fixedBytes") {
+        string hex = check value.ensureType();
+        return array:fromBase16(hex.substring(2));
+    }
+    if kind == "array" || kind == "fixedArray" || kind == "tuple" {
+        json[] elements = check value.ensureType();
+        AbiType? element = abiType.element;
+        anydata[] values = [];
+        foreach int i in 0 ..< elements.length() {
+            values.push(check toValue(element is AbiType ? element : abiType.components[i], elements[i], decoded));
+        }
+        return values;
+    }
+    return value;
+}
+
+# Returns a 32-byte word of hex digits.
+#
+# + hex - The low-order digits
+# + pad - The digit to pad with, `f` for negative integers
+# + return - The word
+function word(string hex, string:Char pad = "0") returns string {
+    return hex.padStart(64, pad);
+}
+
+# Asserts that a call fails.
+#
+# + result - The result of the call
+# + message - What the call should reject
+function assertRejected(anydata|error result, string message) {
+    test:assertTrue(result is error, "Expected an error for " + message);
+}
@@ -0,0 +1 @@
+../../../main/resources/utils.bal
\ No newline at end of file
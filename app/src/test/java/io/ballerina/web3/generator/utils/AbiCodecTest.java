@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the ABI codec against the vectors in abi-vectors.json, which the Ballerina tests of
+ * utils.bal share, and against malformed data.
+ */
+public class AbiCodecTest {
+
+    private static final String VECTORS = "abi-vectors.json";
+
+    private static final BigInteger TWO_256 = BigInteger.TWO.pow(256);
+    private static final BigInteger TWO_255 = BigInteger.TWO.pow(255);
+
+    @DataProvider(name = "vectors")
+    public static Object[][] vectors() throws IOException {
+        try (InputStream inputStream = AbiCodecTest.class.getClassLoader().getResourceAsStream(VECTORS)) {
+            Assert.assertNotNull(inputStream, VECTORS + " is missing from the test resources");
+            JsonNode vectors = new ObjectMapper().readTree(inputStream);
+            Object[][] data = new Object[vectors.size()][];
+            for (int i = 0; i < vectors.size(); i++) {
+                data[i] = new Object[] { vectors.get(i).get("description").asText(), vectors.get(i) };
+            }
+            return data;
+        }
+    }
+
+    @Test(dataProvider = "vectors")
+    public void testEncode(String description, JsonNode vector) {
+        AbiType parameters = parameterTuple(vector);
+        ByteBuffer encoded = new AbiCodec().encode(parameters, toValue(parameters, vector.get("values")));
+        Assert.assertEquals(AbiCodec.toHex(encoded.array(), 0, encoded.limit()), vector.get("encoded").asText(),
+                description);
+    }
+
+    @Test(dataProvider = "vectors")
+    public void testEncodeCall(String description, JsonNode vector) {
+        if (!vector.has("signature")) {
+            return;
+        }
+        AbiType parameters = parameterTuple(vector);
+        String calldata = new AbiCodec().encodeCall(vector.get("signature").asText(),
+                (List<?>) toValue(parameters, vector.get("values")));
+        Assert.assertEquals(calldata, vector.get("selector").asText() + vector.get("encoded").asText(), description);
+    }
+
+    @Test(dataProvider = "vectors")
+    public void testDecode(String description, JsonNode vector) {
+        AbiType parameters = parameterTuple(vector);
+        Object decoded = AbiCodec.decodeHex(parameters, vector.get("encoded").asText());
+        Assert.assertEquals(canonical(decoded), canonical(toValue(parameters, vector.get("values"))), description);
+    }
+
+    @Test
+    public void testEncoderReusesBuffer() {
+        AbiCodec codec = new AbiCodec(32);
+        String large = codec.encodeToHex("string", List.of("a".repeat(100)));
+        String small = codec.encodeToHex("uint8", List.of(1));
+
+        Assert.assertEquals(large.length(), 2 * (32 + 32 + 128));
+        Assert.assertEquals(small, "0".repeat(63) + "1");
+    }
+
+    @Test
+    public void testUint256Bounds() {
+        AbiCodec codec = new AbiCodec();
+        Assert.assertEquals(codec.encodeToHex("uint256", List.of(TWO_256.subtract(BigInteger.ONE))), "f".repeat(64));
+        Assert.assertEquals(codec.encodeToHex("uint256", List.of(BigInteger.ZERO)), "0".repeat(64));
+
+        assertRejected(() -> codec.encodeToHex("uint256", List.of(TWO_256)));
+        assertRejected(() -> codec.encodeToHex("uint256", List.of(BigInteger.ONE.negate())));
+        assertRejected(() -> codec.encodeToHex("uint256", List.of(-1L)));
+    }
+
+    @Test
+    public void testInt256Bounds() {
+        AbiCodec codec = new AbiCodec();
+        Assert.assertEquals(codec.encodeToHex("int256", List.of(TWO_255.negate())), "8" + "0".repeat(63));
+        Assert.assertEquals(codec.encodeToHex("int256", List.of(TWO_255.subtract(BigInteger.ONE))),
+                "7" + "f".repeat(63));
+        Assert.assertEquals(codec.encodeToHex("int256", List.of(Long.MIN_VALUE)),
+                "f".repeat(48) + "8" + "0".repeat(15));
+
+        assertRejected(() -> codec.encodeToHex("int256", List.of(TWO_255)));
+        assertRejected(() -> codec.encodeToHex("int256", List.of(TWO_255.negate().subtract(BigInteger.ONE))));
+    }
+
+    @Test
+    public void testSmallIntegerBounds() {
+        AbiCodec codec = new AbiCodec();
+        Assert.assertEquals(codec.encodeToHex("uint8", List.of(255)), "0".repeat(62) + "ff");
+        Assert.assertEquals(codec.encodeToHex("int8", List.of(-128)), "f".repeat(62) + "80");
+        Assert.assertEquals(codec.encodeToHex("uint64", List.of(new BigInteger("18446744073709551615"))),
+                "0".repeat(48) + "f".repeat(16));
+
+        assertRejected(() -> codec.encodeToHex("uint8", List.of(256)));
+        assertRejected(() -> codec.encodeToHex("int8", List.of(128)));
+        assertRejected(() -> codec.encodeToHex("int8", List.of(-129)));
+        assertRejected(() -> codec.encodeToHex("uint64", List.of(new BigInteger("18446744073709551616"))));
+    }
+
+    @Test
+    public void testDecodeSignedIntegers() {
+        Assert.assertEquals(AbiCodec.decodeHex(AbiType.parse("int256"), "f".repeat(64)), BigInteger.ONE.negate());
+        Assert.assertEquals(AbiCodec.decodeHex(AbiType.parse("uint256"), "f".repeat(64)),
+                TWO_256.subtract(BigInteger.ONE));
+    }
+
+    @Test
+    public void testRejectsMismatchedValues() {
+        AbiCodec codec = new AbiCodec();
+        assertRejected(() -> codec.encodeToHex("bytes3", List.of("0x6162")));
+        assertRejected(() -> codec.encodeToHex("address", List.of("0x1234")));
+        assertRejected(() -> codec.encodeToHex("uint256[2]", List.of(List.of(BigInteger.ONE))));
+        assertRejected(() -> codec.encodeToHex("bool", List.of(1)));
+        assertRejected(() -> codec.encodeToHex("bytes", List.of("0x123")));
+    }
+
+    @Test
+    public void testRejectsTruncatedStaticValue() {
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(uint256)"), "0".repeat(62)));
+    }
+
+    @Test
+    public void testRejectsOffsetPastEnd() {
+        // The offset points at the word after the only word of the data
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(string)"), word(0x20)));
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(bytes)"), word(0x1000)));
+    }
+
+    @Test
+    public void testRejectsOffsetBeyondInt() {
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(string)"), "f".repeat(64)));
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(string)"), "0".repeat(56) + "80000000"));
+    }
+
+    @Test
+    public void testRejectsLengthPastEnd() {
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(bytes)"), word(0x20) + word(0x21) + "00".repeat(32)));
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(string)"), word(0x20) + word(0x100)));
+    }
+
+    @Test
+    public void testRejectsArrayLengthBeforeAllocating() {
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(uint256[])"), word(0x20) + word(0x7fffffff)));
+        assertRejected(() -> AbiCodec.decodeHex(AbiType.parse("(uint256[][])"),
+                word(0x20) + word(1) + word(0x20) + word(0x10000)));
+    }
+
+    @Test
+    public void testRejectsInvalidHex() {
+        assertRejected(() -> AbiCodec.fromHex("0x123"));
+        assertRejected(() -> AbiCodec.fromHex("0xzz"));
+        Assert.assertEquals(AbiCodec.fromHex("0xABcd"), new byte[] { (byte) 0xab, (byte) 0xcd });
+    }
+
+    private static AbiType parameterTuple(JsonNode vector) {
+        List<String> types = new ArrayList<>();
+        vector.get("types").forEach(type -> types.add(type.asText()));
+        return AbiType.parse("(" + String.join(",", types) + ")");
+    }
+
+    /**
+     * Converts a vector value to the Java value the codec takes: integers are decimal strings, and
+     * bytes and addresses are 0x-prefixed hex.
+     */
+    private static Object toValue(AbiType type, JsonNode node) {
+        return switch (type.getKind()) {
+            case UINT, INT -> new BigInteger(node.asText());
+            case BOOL -> node.asBoolean();
+            case ARRAY, FIXED_ARRAY, TUPLE -> {
+                List<Object> values = new ArrayList<>();
+                for (int i = 0; i < node.size(); i++) {
+                    values.add(toValue(type.getKind() == AbiType.Kind.TUPLE ? type.getComponents().get(i)
+                            : type.getElementType(), node.get(i)));
+                }
+                yield values;
+            }
+            default -> node.asText();
+        };
+    }
+
+    /**
+     * Returns a form of encoded or decoded values that compares by value: byte arrays become
+     * lowercase hex and integers become BigInteger.
+     */
+    private static Object canonical(Object value) {
+        if (value instanceof byte[] bytes) {
+            return "0x" + AbiCodec.toHex(bytes);
+        }
+        if (value instanceof String string && string.startsWith("0x")) {
+            return string.toLowerCase();
+        }
+        if (value instanceof Number number && !(value instanceof BigInteger)) {
+            return BigInteger.valueOf(number.longValue());
+        }
+        if (value instanceof List<?> list) {
+            List<Object> values = new ArrayList<>();
+            for (Object element : list) {
+                values.add(canonical(element));
+            }
+            return values;
+        }
+        return value;
+    }
+
+    private static String word(long value) {
+        return String.format("%064x", value);
+    }
+
+    private static void assertRejected(Runnable action) {
+        Assert.assertThrows(IllegalArgumentException.class, action::run);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.generator.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of ABI type parsing and of the head sizes that the codec lays out heads and tails with.
+ */
+public class AbiTypeTest {
+
+    @DataProvider(name = "layouts")
+    public static Object[][] layouts() {
+        return new Object[][] {
+                { "uint256", AbiType.Kind.UINT, false, 32 },
+                { "int8", AbiType.Kind.INT, false, 32 },
+                { "address", AbiType.Kind.ADDRESS, false, 32 },
+                { "bytes32", AbiType.Kind.FIXED_BYTES, false, 32 },
+                { "bytes", AbiType.Kind.BYTES, true, 32 },
+                { "string", AbiType.Kind.STRING, true, 32 },
+                { "uint256[]", AbiType.Kind.ARRAY, true, 32 },
+                { "uint256[3]", AbiType.Kind.FIXED_ARRAY, false, 96 },
+                { "string[3]", AbiType.Kind.FIXED_ARRAY, true, 32 },
+                { "uint8[2][3]", AbiType.Kind.FIXED_ARRAY, false, 192 },
+                { "(uint256,bool)", AbiType.Kind.TUPLE, false, 64 },
+                { "((uint8,bool),uint16)", AbiType.Kind.TUPLE, false, 96 },
+                { "((uint8,bytes),uint16)", AbiType.Kind.TUPLE, true, 32 },
+                { "(uint256,bool)[2]", AbiType.Kind.FIXED_ARRAY, false, 128 },
+                { "()", AbiType.Kind.TUPLE, false, 0 },
+        };
+    }
+
+    @Test(dataProvider = "layouts")
+    public void testLayout(String type, AbiType.Kind kind, boolean dynamic, int headSize) {
+        AbiType parsed = AbiType.parse(type);
+        Assert.assertEquals(parsed.getKind(), kind, type);
+        Assert.assertEquals(parsed.isDynamic(), dynamic, type);
+        Assert.assertEquals(parsed.getHeadSize(), headSize, type);
+    }
+
+    @Test
+    public void testAliases() {
+        Assert.assertSame(AbiType.parse("uint"), AbiType.parse("uint256"));
+        Assert.assertSame(AbiType.parse("int"), AbiType.parse("int256"));
+        Assert.assertEquals(AbiType.parse("function").getSize(), 24);
+    }
+
+    @Test
+    public void testNestedArrayElementType() {
+        // The last dimension is the outermost one
+        AbiType type = AbiType.parse("uint8[2][3]");
+        Assert.assertEquals(type.getSize(), 3);
+        Assert.assertEquals(type.getElementType().getName(), "uint8[2]");
+        Assert.assertEquals(type.getElementType().getSize(), 2);
+    }
+
+    @Test
+    public void testNamedComponents() {
+        AbiType type = AbiType.parse("(uint256 price,(address owner,string) maker,bool)");
+        Assert.assertEquals(type.getComponentNames(), Arrays.asList("price", "maker", null));
+        Assert.assertEquals(type.getComponents().get(1).getComponentNames(), Arrays.asList("owner", null));
+        Assert.assertTrue(type.getComponents().get(1).isDynamic());
+    }
+
+    @Test
+    public void testParseList() {
+        List<AbiType> types = AbiType.parseList("(uint256,bytes),string,uint8[2]");
+        Assert.assertEquals(types.size(), 3);
+        Assert.assertEquals(types.get(0).getName(), "(uint256,bytes)");
+        Assert.assertEquals(types.get(2).getKind(), AbiType.Kind.FIXED_ARRAY);
+        Assert.assertTrue(AbiType.parseList("").isEmpty());
+    }
+
+    @DataProvider(name = "invalidTypes")
+    public static Object[][] invalidTypes() {
+        return new Object[][] {
+                { "uint7" }, { "uint0" }, { "uint264" }, { "intx" }, { "bytes0" }, { "bytes33" },
+                { "uint256[0]" }, { "uint256[-1]" }, { "uint256]" }, { "fixed128x18" }, { "strings" },
+        };
+    }
+
+    @Test(dataProvider = "invalidTypes")
+    public void testRejectsInvalidType(String type) {
+        Assert.assertThrows(IllegalArgumentException.class, () -> AbiType.parse(type));
+    }
+}
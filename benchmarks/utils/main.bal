@@ -0,0 +1,113 @@
+
+// Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+//    http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/time;
+
+const int ITERATIONS = 20000;
+
+// ABI words and hex quantities, without the 0x prefix that the legacy decoder rejects
+final readonly & string[] INT_WORDS = [
+    "00000000000000000000000000000000000000000000000000000000000003e8",
+    "0000000000000000000000000000000000000000000000000de0b6b3a7640000",
+    "12a05f2",
+    "1"
+];
+
+// A balance of a million Ether in Wei, which a decimal holds, and the maximum uint256, which it does not
+const string BALANCE_WORD = "00000000000000000000000000000000000000000000d3c21bcecceda1000000";
+const string MAX_UINT256_WORD = "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff";
+
+const string RECIPIENT = "0x5b38da6a701c568545dcfcb03fcb875f56beddc4";
+
+# Prints the average time of one call of each hex decoder and parameter encoder of utils.bal,
+# next to the implementation it replaced. Run with `bal run` from this directory.
+public function main() returns error? {
+    check report("legacy hexToDecimal", INT_WORDS.length(), function() returns error? {
+        foreach string word in INT_WORDS {
+            _ = check legacyHexToDecimal(word);
+        }
+    });
+    check report("hexToDecimal", INT_WORDS.length(), function() returns error? {
+        foreach string word in INT_WORDS {
+            _ = check hexToDecimal(word);
+        }
+    });
+    check report("hexToUint256 (balance)", 1, function() returns error? {
+        _ = check hexToUint256(BALANCE_WORD);
+    });
+    check report("hexToUint256String (maximum uint256)", 1, function() returns error? {
+        _ = check hexToUint256String(MAX_UINT256_WORD);
+    });
+
+    check report("legacy encodeParameters (address, uint256)", 1, function() returns error? {
+        _ = legacyEncodeParameters([RECIPIENT, 1000]);
+    });
+    check report("encodeParameters (address, uint256)", 1, function() returns error? {
+        _ = check encodeParameters(["address", "uint256"], [RECIPIENT, 1000]);
+    });
+
+    // A batch call with a thousand-element array, which the legacy encoder could only flatten
+    int[] amounts = [];
+    foreach int i in 0 ..< 1000 {
+        amounts.push(i * 1000000);
+    }
+    check report("legacy encodeParameters (1000 flattened values)", 1, function() returns error? {
+        _ = legacyEncodeParameters(amounts);
+    }, ITERATIONS / 100);
+    check report("encodeParameters (uint256[1000])", 1, function() returns error? {
+        _ = check encodeParameters(["uint256[]"], [amounts]);
+    }, ITERATIONS / 100);
+
+    // A view returning an array of structs, such as an order book
+    anydata[] orders = [];
+    foreach int i in 0 ..< 100 {
+        orders.push([i * 1000000, RECIPIENT]);
+    }
+    string orderData = check encodeParameters(["(uint256,address)[]"], [orders]);
+    check report("decodeParameters ((uint256,address)[100])", 1, function() returns error? {
+        _ = check decodeParameters(["(uint256 price,address maker)[]"], orderData);
+    }, ITERATIONS / 10);
+
+    string text = "";
+    foreach int _ in 0 ..< 100 {
+        text += "Ballerina web3 ";
+    }
+    check report("legacy stringToHex (1500 characters)", 1, function() returns error? {
+        _ = legacyStringToHex(text);
+    }, ITERATIONS / 10);
+    check report("stringToHex (1500 characters)", 1, function() returns error? {
+        _ = stringToHex(text);
+    }, ITERATIONS / 10);
+}
+
+function report(string name, int callsPerRun, function () returns error? operation,
+        int iterations = ITERATIONS) returns error? {
+    // Warm up the JIT before measuring
+    _ = check run(operation, iterations / 10 + 1);
+    decimal seconds = check run(operation, iterations);
+    decimal microsPerCall = seconds * 1000000 / <decimal>(iterations * callsPerRun);
+    io:println(string `${name}: ${microsPerCall.round(3)} µs/call`);
+}
+
+function run(function () returns error? operation, int iterations) returns decimal|error {
+    decimal startTime = time:monotonicNow();
+    foreach int _ in 0 ..< iterations {
+        check operation();
+    }
+    return time:monotonicNow() - startTime;
+}
@@ -0,0 +1 @@
+../../app/src/main/resources/utils.bal
\ No newline at end of file
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.web3.runtime;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.web3.generator.utils.AbiCodec;
+import io.ballerina.web3.generator.utils.AbiType;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Java implementations of the helper functions of generated clients, bound through
+ * `@java:Method` externs in utils.bal. They build hex in char arrays through lookup tables
+ * instead of concatenating Ballerina strings, and run as JIT-compiled Java on the hot path of
+ * every contract call. Parameters and return data are encoded and decoded by the same
+ * {@link AbiCodec} as the generator uses.
+ */
+public final class Web3Interop {
+    private static final int WORD_DIGITS = 64;
+
+    // The significant digits of a Ballerina decimal
+    private static final int DECIMAL_DIGITS = MathContext.DECIMAL128.getPrecision();
+
+    private static final ThreadLocal<AbiCodec> CODECS = ThreadLocal.withInitial(AbiCodec::new);
+
+    private static final ArrayType ANYDATA_ARRAY = TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA);
+    private static final MapType ANYDATA_MAP = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private Web3Interop() {
+    }
+
+    /**
+     * Encodes parameters in the contract ABI format with the generator's codec, heads first and
+     * dynamic values in the tail, into a buffer sized up front and reused by the calling thread.
+     *
+     * @param types  The canonical ABI types of the parameters.
+     * @param params The int, decimal, string, boolean, byte[] and array parameters.
+     * @return The hex-encoded parameters without the 0x prefix, or an error if a value does not fit its type.
+     */
+    public static Object encodeParameters(BArray types, BArray params) {
+        List<Object> values = new ArrayList<>((int) params.size());
+        try {
+            for (int i = 0; i < params.size(); i++) {
+                values.add(toAbiValue(params.get(i)));
+            }
+            return StringUtils.fromString(CODECS.get().encodeToHex(String.join(",", types.getStringArray()), values));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
+        }
+    }
+
+    /**
+     * Decodes return data in the contract ABI format with the generator's codec.
+     *
+     * @param types The ABI types of the values; named tuple components are decoded to maps.
+     * @param data  The hex-encoded data, with or without the 0x prefix.
+     * @return The decoded values, or an error if the data does not match the types.
+     */
+    public static Object decodeParameters(BArray types, BString data) {
+        try {
+            AbiType tuple = AbiType.parse("(" + String.join(",", types.getStringArray()) + ")");
+            return toBallerinaValue(tuple, AbiCodec.decodeHex(tuple, data.getValue()));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
+        }
+    }
+
+    /**
+     * Converts a string to the hex of its UTF-8 bytes.
+     */
+    public static BString stringToHex(BString value) {
+        byte[] bytes = value.getValue().getBytes(StandardCharsets.UTF_8);
+        char[] hex = new char[bytes.length * 2];
+        writeHex(bytes, 0, bytes.length, hex, 0);
+        return StringUtils.fromString(new String(hex));
+    }
+
+    /**
+     * Converts a hex string, with or without the 0x prefix, to an integer.
+     *
+     * @return The value, or an error for non-hex characters or values beyond the int range.
+     */
+    public static Object hexToDecimal(BString str) {
+        String hex = str.getValue();
+        long result = 0;
+        for (int i = prefixLength(hex); i < hex.length(); i++) {
+            int digit = hexValue(hex.charAt(i));
+            if (digit < 0) {
+                return ErrorCreator.createError(
+                        StringUtils.fromString("Invalid hex string: Contains non-hexadecimal characters"));
+            }
+            if (result > (Long.MAX_VALUE >>> 4)) {
+                return ErrorCreator.createError(StringUtils.fromString("Hex value exceeds the int range: " + hex));
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    /**
+     * Converts a hex string of up to 256 bits, with or without the 0x prefix, to a decimal.
+     *
+     * @return The value, or an error for non-hex characters, values beyond 256 bits or values with
+     *         more significant digits than a decimal holds.
+     */
+    public static Object hexToUint256(BString str) {
+        Object value = parseUint256(str.getValue());
+        if (!(value instanceof BigInteger number)) {
+            return value;
+        }
+        try {
+            return toDecimal(number);
+        } catch (ArithmeticException e) {
+            return ErrorCreator.createError(StringUtils.fromString(e.getMessage()));
+        }
+    }
+
+    /**
+     * Converts a hex string of up to 256 bits, with or without the 0x prefix, to its exact decimal
+     * digits, for values that a decimal cannot hold.
+     *
+     * @return The digits, or an error for non-hex characters or values beyond 256 bits.
+     */
+    public static Object hexToUint256String(BString str) {
+        Object value = parseUint256(str.getValue());
+        return value instanceof BigInteger number ? StringUtils.fromString(number.toString()) : value;
+    }
+
+    /**
+     * Parses a hex string of up to 256 bits.
+     *
+     * @return The value as a BigInteger, or an error for non-hex characters or values beyond 256 bits.
+     */
+    private static Object parseUint256(String hex) {
+        int start = prefixLength(hex);
+        int significant = -1;
+        for (int i = start; i < hex.length(); i++) {
+            int digit = hexValue(hex.charAt(i));
+            if (digit < 0) {
+                return ErrorCreator.createError(
+                        StringUtils.fromString("Invalid hex string: Contains non-hexadecimal characters"));
+            }
+            if (significant < 0 && digit != 0) {
+                significant = i;
+            }
+        }
+        if (significant < 0) {
+            return BigInteger.ZERO;
+        }
+        if (hex.length() - significant > WORD_DIGITS) {
+            return ErrorCreator.createError(StringUtils.fromString("Hex value exceeds 256 bits: " + hex));
+        }
+        return new BigInteger(hex.substring(significant), 16);
+    }
+
+    /**
+     * Converts bytes to hex, without the 0x prefix.
+     */
+    public static BString bytesToHex(BArray bytes) {
+        byte[] data = bytes.getBytes();
+        char[] hex = new char[data.length * 2];
+        writeHex(data, 0, data.length, hex, 0);
+        return StringUtils.fromString(new String(hex));
+    }
+
+    /**
+     * Converts hex, with or without the 0x prefix, to bytes.
+     *
+     * @return The bytes, or an error for an odd length or non-hex characters.
+     */
+    public static Object hexToBytes(BString str) {
+        String hex = str.getValue();
+        int start = prefixLength(hex);
+        if ((hex.length() - start) % 2 != 0) {
+            return ErrorCreator.createError(StringUtils.fromString("Invalid hex string: odd number of digits"));
+        }
+
+        byte[] bytes = new byte[(hex.length() - start) / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = hexValue(hex.charAt(start + 2 * i));
+            int low = hexValue(hex.charAt(start + 2 * i + 1));
+            if (high < 0 || low < 0) {
+                return ErrorCreator.createError(
+                        StringUtils.fromString("Invalid hex string: Contains non-hexadecimal characters"));
+            }
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return ValueCreator.createArrayValue(bytes);
+    }
+
+    /**
+     * Computes the Keccak-256 hash used by Ethereum for selectors, topics and addresses.
+     */
+    public static BArray keccak256(BArray data) {
+        byte[] input = data.getBytes();
+        KeccakDigest digest = new KeccakDigest(256);
+        digest.update(input, 0, input.length);
+        byte[] hash = new byte[32];
+        digest.doFinal(hash, 0);
+        return ValueCreator.createArrayValue(hash);
+    }
+
+    /**
+     * Converts a Ballerina value to the Java value the codec takes for it.
+     *
+     * @throws ArithmeticException if a decimal is not a whole number.
+     */
+    private static Object toAbiValue(Object value) {
+        if (value instanceof BDecimal decimal) {
+            return decimal.decimalValue().toBigIntegerExact();
+        }
+        if (value instanceof BString string) {
+            return string.getValue();
+        }
+        if (value instanceof BArray array) {
+            if (TypeUtils.getImpliedType(array.getElementType()).getTag() == TypeTags.BYTE_TAG) {
+                return array.getBytes();
+            }
+            List<Object> values = new ArrayList<>((int) array.size());
+            for (int i = 0; i < array.size(); i++) {
+                values.add(toAbiValue(array.get(i)));
+            }
+            return values;
+        }
+        return value;
+    }
+
+    /**
+     * Converts a value decoded by the codec to the Ballerina value the generated client expects:
+     * int for integers in the int range and decimal for unsigned integers of 64 bits or more.
+     *
+     * @throws ArithmeticException if a signed integer exceeds the int range, or an unsigned integer
+     *                             has more significant digits than a decimal holds.
+     */
+    private static Object toBallerinaValue(AbiType type, Object value) {
+        switch (type.getKind()) {
+            case UINT -> {
+                BigInteger number = (BigInteger) value;
+                return type.getSize() >= 64 ? toDecimal(number) : number.longValue();
+            }
+            case INT -> {
+                return ((BigInteger) value).longValueExact();
+            }
+            case ADDRESS, STRING -> {
+                return StringUtils.fromString((String) value);
+            }
+            case FIXED_BYTES, BYTES -> {
+                return ValueCreator.createArrayValue((byte[]) value);
+            }
+            case ARRAY, FIXED_ARRAY, TUPLE -> {
+                List<?> values = (List<?>) value;
+                List<String> names = type.getComponentNames();
+                if (names != null && !names.isEmpty() && !names.contains(null)) {
+                    BMap<BString, Object> map = ValueCreator.createMapValue(ANYDATA_MAP);
+                    for (int i = 0; i < values.size(); i++) {
+                        map.put(StringUtils.fromString(names.get(i)),
+                                toBallerinaValue(type.getComponents().get(i), values.get(i)));
+                    }
+                    return map;
+                }
+                BArray array = ValueCreator.createArrayValue(ANYDATA_ARRAY);
+                for (int i = 0; i < values.size(); i++) {
+                    AbiType elementType = type.getKind() == AbiType.Kind.TUPLE ? type.getComponents().get(i)
+                            : type.getElementType();
+                    array.append(toBallerinaValue(elementType, values.get(i)));
+                }
+                return array;
+            }
+            default -> {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Converts an unsigned integer to a decimal, which is exact or rejected, never rounded.
+     *
+     * @throws ArithmeticException if the value has more significant digits than a decimal holds.
+     */
+    private static BDecimal toDecimal(BigInteger number) {
+        BigDecimal value = new BigDecimal(number);
+        if (value.stripTrailingZeros().precision() > DECIMAL_DIGITS) {
+            throw new ArithmeticException("Value " + number + " exceeds the " + DECIMAL_DIGITS
+                    + " significant digits of a decimal; read it with hexToUint256String");
+        }
+        return ValueCreator.createDecimalValue(value);
+    }
+
+    private static void writeHex(byte[] bytes, int offset, int length, char[] hex, int hexOffset) {
+        for (int i = 0; i < length; i++) {
+            int b = bytes[offset + i] & 0xff;
+            hex[hexOffset + 2 * i] = HEX_DIGITS[b >>> 4];
+            hex[hexOffset + 2 * i + 1] = HEX_DIGITS[b & 0x0f];
+        }
+    }
+
+    private static int prefixLength(String hex) {
+        return hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+    }
+
+    private static int hexValue(char c) {
+        return c < 128 ? HEX_VALUES[c] : -1;
+    }
+}